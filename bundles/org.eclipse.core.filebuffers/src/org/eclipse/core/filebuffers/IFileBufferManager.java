@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -158,6 +158,45 @@ public interface IFileBufferManager {
 	 */
 	void disconnectFileStore(IFileStore fileStore, IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Connects the files at the given locations to this manager. This is
+	 * equivalent to calling {@link #connect(IPath, LocationKind, IProgressMonitor)}
+	 * for each of the given locations in order, except that the contents of the
+	 * files that are not yet connected may be read in parallel.
+	 * <p>
+	 * If one of the files could not be connected, the files already connected by
+	 * this call are disconnected again before the exception is thrown.
+	 * </p>
+	 * <p>
+	 * We use a different name than <code>connect</code> for this method so
+	 * that calls passing <code>null</code> as location stay unambiguous.
+	 * </p>
+	 *
+	 * @param locations the locations of the files to be connected
+	 * @param locationKind the kind of the given locations
+	 * @param monitor the progress monitor, or <code>null</code> if progress reporting is not desired
+	 * @throws CoreException if one of the files could not successfully be connected
+	 * @see LocationKind
+	 * @since 3.9
+	 */
+	void connectAll(IPath[] locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException;
+
+	/**
+	 * Disconnects the files at the given locations from this manager. This is
+	 * equivalent to calling {@link #disconnect(IPath, LocationKind, IProgressMonitor)}
+	 * for each of the given locations. All files are disconnected, even if
+	 * disconnecting one of them fails.
+	 *
+	 * @param locations the locations of the files to be disconnected
+	 * @param locationKind the kind of the given locations
+	 * @param monitor the progress monitor, or <code>null</code> if progress reporting is not desired
+	 * @throws CoreException if one of the files could not successfully be disconnected,
+	 * 			the first failure is reported
+	 * @see LocationKind
+	 * @since 3.9
+	 */
+	void disconnectAll(IPath[] locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException;
+
 	/**
 	 * Returns the file buffer managed for the given location or <code>null</code>
 	 * if there is no such file buffer.
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.runtime.Assert;
+
+import org.eclipse.jface.text.IDocument;
+
+
+/**
+ * An <code>InputStream</code> that encodes the content of an
+ * <code>IDocument</code> chunk by chunk while it is read, so that the encoded
+ * content is never held in memory as a whole. Like {@link DocumentReader}, the
+ * stream ensures that its content is the same as the document content when the
+ * stream was created.
+ * <p>
+ * Malformed input is replaced, unmappable characters are reported by throwing
+ * an {@link java.nio.charset.UnmappableCharacterException} from the read
+ * methods. Use {@link #checkEncoding()} before the stream is consumed in order
+ * to detect them before anything has been written.
+ * </p>
+ * <p>
+ * Note that {@link #close()} must be called to release any acquired
+ * resources.
+ * </p>
+ *
+ * @since 3.9
+ */
+class DocumentInputStream extends InputStream {
+
+	/** The number of characters encoded at once. */
+	private static final int CHUNK_SIZE= 8192;
+
+	/** The reader providing the document content. */
+	private final Reader fReader;
+
+	/** The encoder. */
+	private final CharsetEncoder fEncoder;
+
+	/** The characters read but not yet encoded, in read mode. */
+	private final CharBuffer fChars;
+
+	/** The encoded bytes not yet returned, in read mode. */
+	private final ByteBuffer fBytes;
+
+	/** Whether the whole document has been read. */
+	private boolean fEndOfInput= false;
+
+	/** Whether all characters have been passed to the encoder. */
+	private boolean fEncoded= false;
+
+	/** Whether the encoder has been flushed. */
+	private boolean fFlushed= false;
+
+	/**
+	 * Creates a new document input stream that encodes the content of the given
+	 * document using the given charset.
+	 *
+	 * @param document the document
+	 * @param charset the charset
+	 */
+	public DocumentInputStream(IDocument document, Charset charset) {
+		Assert.isNotNull(document);
+		fEncoder= newEncoder(charset);
+		fChars= CharBuffer.allocate(CHUNK_SIZE);
+		fChars.flip();
+		fBytes= ByteBuffer.allocate((int) Math.ceil(CHUNK_SIZE * fEncoder.maxBytesPerChar()));
+		fBytes.flip();
+		fReader= new DocumentReader(document);
+	}
+
+	private static CharsetEncoder newEncoder(Charset charset) {
+		CharsetEncoder encoder= charset.newEncoder();
+		encoder.onMalformedInput(CodingErrorAction.REPLACE);
+		encoder.onUnmappableCharacter(CodingErrorAction.REPORT);
+		return encoder;
+	}
+
+	/**
+	 * Checks that the content of this stream can be encoded using its charset.
+	 * The content is encoded chunk by chunk, the result is discarded and the
+	 * stream is rewound afterwards. As the check reads the same copy of the
+	 * document as the stream, an unmappable character inserted into the
+	 * document in the meantime cannot make the stream fail later on.
+	 * <p>
+	 * Must be called before the stream is read.
+	 * </p>
+	 *
+	 * @throws CharacterCodingException if the content contains characters that
+	 *             cannot be mapped to the charset
+	 */
+	public void checkEncoding() throws CharacterCodingException {
+		Assert.isTrue(!fEndOfInput && !fChars.hasRemaining() && !fBytes.hasRemaining());
+
+		// Unicode charsets can encode all characters, malformed input is replaced anyway
+		Charset charset= fEncoder.charset();
+		if (StandardCharsets.UTF_8.equals(charset) || StandardCharsets.UTF_16.equals(charset)
+				|| StandardCharsets.UTF_16LE.equals(charset) || StandardCharsets.UTF_16BE.equals(charset))
+			return;
+
+		try {
+			fReader.mark(Integer.MAX_VALUE);
+			while (fill()) {
+				fBytes.position(fBytes.limit());
+			}
+			fReader.reset();
+		} catch (CharacterCodingException x) {
+			throw x;
+		} catch (IOException x) {
+			// reading from a document does not fail otherwise
+			throw new IllegalStateException(x);
+		} finally {
+			fChars.clear();
+			fChars.flip();
+			fBytes.clear();
+			fBytes.flip();
+			fEncoder.reset();
+			fEndOfInput= false;
+			fEncoded= false;
+			fFlushed= false;
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!fBytes.hasRemaining() && !fill())
+			return -1;
+		return fBytes.get() & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0)
+			return 0;
+		if (!fBytes.hasRemaining() && !fill())
+			return -1;
+		int count= Math.min(len, fBytes.remaining());
+		fBytes.get(b, off, count);
+		return count;
+	}
+
+	@Override
+	public int available() {
+		return fBytes.remaining();
+	}
+
+	@Override
+	public void close() throws IOException {
+		fReader.close();
+	}
+
+	/**
+	 * Encodes the next chunk of the document.
+	 *
+	 * @return <code>false</code> if the whole document has been encoded and returned
+	 * @throws IOException if the document could not be read or contains unmappable characters
+	 */
+	private boolean fill() throws IOException {
+		fBytes.clear();
+		try {
+			while (fBytes.position() == 0 && !fFlushed) {
+				if (!fEndOfInput) {
+					fChars.compact();
+					if (fChars.hasRemaining() && fReader.read(fChars) == -1)
+						fEndOfInput= true;
+					fChars.flip();
+				}
+
+				if (!fEncoded) {
+					CoderResult result= fEncoder.encode(fChars, fBytes, fEndOfInput);
+					if (result.isError())
+						result.throwException();
+					if (fEndOfInput && result.isUnderflow())
+						fEncoded= true;
+				}
+
+				if (fEncoded && fEncoder.flush(fBytes).isUnderflow())
+					fFlushed= true;
+			}
+		} finally {
+			fBytes.flip();
+		}
+		return fBytes.hasRemaining();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2007 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -109,6 +109,9 @@ class DocumentReader extends Reader {
 	/** The current offset. */
 	private int fOffset= 0;
 
+	/** The marked offset. */
+	private int fMark= 0;
+
 	/** The document. */
 	private IDocument fDocument;
 
@@ -163,20 +166,40 @@ class DocumentReader extends Reader {
 		fDocumentListener= null;
 	}
 
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public void mark(int readAheadLimit) {
+		fMark= fOffset;
+	}
+
+	@Override
+	public void reset() throws IOException {
+		if (fCharSequence == null)
+			throw new IOException(FileBuffersMessages.DocumentInputStream_error_streamClosed);
+		fOffset= fMark;
+	}
+
 	@Override
 	public int read(char[] cbuf, int off, int len) throws IOException {
-		int i= 0;
-		try {
-			for (; i < len && fOffset < fLength; i++)
-				cbuf[off + i]=  fCharSequence.charAt(fOffset++);
-			if (i > 0)
-				return i;
+		CharSequence charSequence= fCharSequence;
+		if (charSequence == null)
+			throw new IOException(FileBuffersMessages.DocumentInputStream_error_streamClosed);
 
+		int count= Math.min(len, fLength - fOffset);
+		if (count <= 0)
 			return -1;
-		} catch (NullPointerException x) {
-			throw new IOException(FileBuffersMessages.DocumentInputStream_error_streamClosed);
+
+		try {
+			// Copy chunks instead of single characters, see DocumentInputStream
+			charSequence.subSequence(fOffset, fOffset + count).toString().getChars(0, count, cbuf, off);
 		} catch (IndexOutOfBoundsException x) {
-			return i-1;
+			return -1;
 		}
+		fOffset+= count;
+		return count;
 	}
 }
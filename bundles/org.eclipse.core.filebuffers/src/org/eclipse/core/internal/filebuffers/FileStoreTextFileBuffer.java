@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2023 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,12 +20,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.SequenceInputStream;
-import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetEncoder;
-import java.nio.charset.CodingErrorAction;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnmappableCharacterException;
@@ -376,80 +372,76 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 			throw new CoreException(s);
 		}
 
-		CharsetEncoder encoder= charset.newEncoder();
-		encoder.onMalformedInput(CodingErrorAction.REPLACE);
-		encoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-
-		byte[] bytes;
-		int bytesLength;
-
+		// The document is encoded while the stream is consumed, the check reads the same copy
+		DocumentInputStream content= new DocumentInputStream(fDocument, charset);
 		try {
-			ByteBuffer byteBuffer= encoder.encode(CharBuffer.wrap(fDocument.get()));
-			bytesLength= byteBuffer.limit();
-			if (byteBuffer.hasArray())
-				bytes= byteBuffer.array();
-			else {
-				bytes= new byte[bytesLength];
-				byteBuffer.get(bytes);
+			try {
+				content.checkEncoding();
+			} catch (CharacterCodingException ex) {
+				Assert.isTrue(ex instanceof UnmappableCharacterException);
+				String message= NLSUtility.format(FileBuffersMessages.ResourceTextFileBuffer_error_charset_mapping_failed_message_arg, encoding);
+				IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CHARSET_MAPPING_FAILED, message, null);
+				throw new CoreException(s);
 			}
-		} catch (CharacterCodingException ex) {
-			Assert.isTrue(ex instanceof UnmappableCharacterException);
-			String message= NLSUtility.format(FileBuffersMessages.ResourceTextFileBuffer_error_charset_mapping_failed_message_arg, encoding);
-			IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CHARSET_MAPPING_FAILED, message, null);
-			throw new CoreException(s);
-		}
-
-		IFileInfo fileInfo= fFileStore.fetchInfo();
-		if (fileInfo != null && fileInfo.exists()) {
-
-			if (!overwrite)
-				checkSynchronizationState();
 
-			InputStream stream= new ByteArrayInputStream(bytes, 0, bytesLength);
+			IFileInfo fileInfo= fFileStore.fetchInfo();
+			if (fileInfo != null && fileInfo.exists()) {
 
-			/*
-			 * XXX:
-			 * This is a workaround for a corresponding bug in Java readers and writer,
-			 * see http://developer.java.sun.com/developer/bugParade/bugs/4508058.html
-			 */
-			if (fHasBOM && StandardCharsets.UTF_8.name().equals(encoding))
-				stream= new SequenceInputStream(new ByteArrayInputStream(IContentDescription.BOM_UTF_8), stream);
+				if (!overwrite)
+					checkSynchronizationState();
 
+				InputStream stream= content;
 
-			// here the file synchronizer should actually be removed and afterwards added again. However,
-			// we are already inside an operation, so the delta is sent AFTER we have added the listener
-			setFileContents(stream, monitor);
-			// set synchronization stamp to know whether the file synchronizer must become active
-			fSynchronizationStamp= fFileStore.fetchInfo().getLastModified();
-
-			if (fAnnotationModel instanceof IPersistableAnnotationModel) {
-				IPersistableAnnotationModel persistableModel= (IPersistableAnnotationModel) fAnnotationModel;
-				persistableModel.commit(fDocument);
-			}
-
-		} else {
-			fFileStore.getParent().mkdir(EFS.NONE, null);
-
-			try(OutputStream out= fFileStore.openOutputStream(EFS.NONE, null)) {
 				/*
 				 * XXX:
 				 * This is a workaround for a corresponding bug in Java readers and writer,
 				 * see http://developer.java.sun.com/developer/bugParade/bugs/4508058.html
 				 */
 				if (fHasBOM && StandardCharsets.UTF_8.name().equals(encoding))
-					out.write(IContentDescription.BOM_UTF_8);
+					stream= new SequenceInputStream(new ByteArrayInputStream(IContentDescription.BOM_UTF_8), stream);
 
-				out.write(bytes, 0, bytesLength);
-				out.flush();
-				out.close();
-			} catch (IOException x) {
-				IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, x.getLocalizedMessage(), x);
-				throw new CoreException(s);
-			}
 
-			// set synchronization stamp to know whether the file synchronizer must become active
-			fSynchronizationStamp= fFileStore.fetchInfo().getLastModified();
+				// here the file synchronizer should actually be removed and afterwards added again. However,
+				// we are already inside an operation, so the delta is sent AFTER we have added the listener
+				setFileContents(stream, monitor);
+				// set synchronization stamp to know whether the file synchronizer must become active
+				fSynchronizationStamp= fFileStore.fetchInfo().getLastModified();
+
+				if (fAnnotationModel instanceof IPersistableAnnotationModel) {
+					IPersistableAnnotationModel persistableModel= (IPersistableAnnotationModel) fAnnotationModel;
+					persistableModel.commit(fDocument);
+				}
+
+			} else {
+				fFileStore.getParent().mkdir(EFS.NONE, null);
+
+				try(OutputStream out= fFileStore.openOutputStream(EFS.NONE, null)) {
+					/*
+					 * XXX:
+					 * This is a workaround for a corresponding bug in Java readers and writer,
+					 * see http://developer.java.sun.com/developer/bugParade/bugs/4508058.html
+					 */
+					if (fHasBOM && StandardCharsets.UTF_8.name().equals(encoding))
+						out.write(IContentDescription.BOM_UTF_8);
+
+					content.transferTo(out);
+					out.flush();
+					out.close();
+				} catch (IOException x) {
+					IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, x.getLocalizedMessage(), x);
+					throw new CoreException(s);
+				}
+
+				// set synchronization stamp to know whether the file synchronizer must become active
+				fSynchronizationStamp= fFileStore.fetchInfo().getLastModified();
 
+			}
+		} finally {
+			try {
+				content.close();
+			} catch (IOException x) {
+				// ignore, the document stream does not fail on close
+			}
 		}
 	}
 
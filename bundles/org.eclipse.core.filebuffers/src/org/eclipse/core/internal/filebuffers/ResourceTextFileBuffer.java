@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,12 +18,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.SequenceInputStream;
-import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetEncoder;
-import java.nio.charset.CodingErrorAction;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnmappableCharacterException;
@@ -302,70 +298,67 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 			throw new CoreException(s);
 		}
 
-		CharsetEncoder encoder= charset.newEncoder();
-		encoder.onMalformedInput(CodingErrorAction.REPLACE);
-		encoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-
-		InputStream stream;
-
+		// The document is encoded while the stream is consumed, the check reads the same copy
+		DocumentInputStream content= new DocumentInputStream(fDocument, charset);
+		InputStream stream= content;
 		try {
-			byte[] bytes;
-			ByteBuffer byteBuffer= encoder.encode(CharBuffer.wrap(fDocument.get()));
-			if (byteBuffer.hasArray())
-				bytes= byteBuffer.array();
-			else {
-				bytes= new byte[byteBuffer.limit()];
-				byteBuffer.get(bytes);
+			try {
+				content.checkEncoding();
+			} catch (CharacterCodingException ex) {
+				Assert.isTrue(ex instanceof UnmappableCharacterException);
+				String message= NLSUtility.format(FileBuffersMessages.ResourceTextFileBuffer_error_charset_mapping_failed_message_arg, new Object[] {encoding,getLocation().toString()});
+				IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CHARSET_MAPPING_FAILED, message, ex);
+				throw new CoreException(s);
 			}
-			stream= new ByteArrayInputStream(bytes, 0, byteBuffer.limit());
-		} catch (CharacterCodingException ex) {
-			Assert.isTrue(ex instanceof UnmappableCharacterException);
-			String message= NLSUtility.format(FileBuffersMessages.ResourceTextFileBuffer_error_charset_mapping_failed_message_arg, new Object[] {encoding,getLocation().toString()});
-			IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CHARSET_MAPPING_FAILED, message, ex);
-			throw new CoreException(s);
-		}
 
-		/*
-		 * XXX:
-		 * This is a workaround for a corresponding bug in Java readers and writer,
-		 * see http://developer.java.sun.com/developer/bugParade/bugs/4508058.html
-		 */
-		if (fBOM == IContentDescription.BOM_UTF_8 && StandardCharsets.UTF_8.name().equals(encoding))
-			stream= new SequenceInputStream(new ByteArrayInputStream(IContentDescription.BOM_UTF_8), stream);
+			/*
+			 * XXX:
+			 * This is a workaround for a corresponding bug in Java readers and writer,
+			 * see http://developer.java.sun.com/developer/bugParade/bugs/4508058.html
+			 */
+			if (fBOM == IContentDescription.BOM_UTF_8 && StandardCharsets.UTF_8.name().equals(encoding))
+				stream= new SequenceInputStream(new ByteArrayInputStream(IContentDescription.BOM_UTF_8), stream);
 
-		if (fBOM == IContentDescription.BOM_UTF_16LE && StandardCharsets.UTF_16LE.name().equals(encoding))
-			stream= new SequenceInputStream(new ByteArrayInputStream(IContentDescription.BOM_UTF_16LE), stream);
+			if (fBOM == IContentDescription.BOM_UTF_16LE && StandardCharsets.UTF_16LE.name().equals(encoding))
+				stream= new SequenceInputStream(new ByteArrayInputStream(IContentDescription.BOM_UTF_16LE), stream);
 
-		if (fFile.exists()) {
+			if (fFile.exists()) {
 
-			// here the file synchronizer should actually be removed and afterwards added again. However,
-			// we are already inside an operation, so the delta is sent AFTER we have added the listener
-			fFile.setContents(stream, overwrite, true, monitor);
-			// set synchronization stamp to know whether the file synchronizer must become active
+				// here the file synchronizer should actually be removed and afterwards added again. However,
+				// we are already inside an operation, so the delta is sent AFTER we have added the listener
+				fFile.setContents(stream, overwrite, true, monitor);
+				// set synchronization stamp to know whether the file synchronizer must become active
 
-			if (fDocument instanceof IDocumentExtension4 ext4) {
-				fSynchronizationStamp= ext4.getModificationStamp();
-				fFile.revertModificationStamp(fSynchronizationStamp);
-			} else
-				fSynchronizationStamp= fFile.getModificationStamp();
+				if (fDocument instanceof IDocumentExtension4 ext4) {
+					fSynchronizationStamp= ext4.getModificationStamp();
+					fFile.revertModificationStamp(fSynchronizationStamp);
+				} else
+					fSynchronizationStamp= fFile.getModificationStamp();
 
-			if (fAnnotationModel instanceof IPersistableAnnotationModel persistableModel) {
-				persistableModel.commit(fDocument);
-			}
+				if (fAnnotationModel instanceof IPersistableAnnotationModel persistableModel) {
+					persistableModel.commit(fDocument);
+				}
 
-		} else {
-			SubMonitor subMonitor= SubMonitor.convert(monitor, FileBuffersMessages.ResourceTextFileBuffer_task_saving, 2);
-			ContainerCreator creator= new ContainerCreator(fFile.getWorkspace(), fFile.getParent().getFullPath());
-			creator.createContainer(subMonitor.split(1));
+			} else {
+				SubMonitor subMonitor= SubMonitor.convert(monitor, FileBuffersMessages.ResourceTextFileBuffer_task_saving, 2);
+				ContainerCreator creator= new ContainerCreator(fFile.getWorkspace(), fFile.getParent().getFullPath());
+				creator.createContainer(subMonitor.split(1));
 
-			fFile.create(stream, false, subMonitor.split(1));
+				fFile.create(stream, false, subMonitor.split(1));
 
 
-			// set synchronization stamp to know whether the file synchronizer must become active
-			fSynchronizationStamp= fFile.getModificationStamp();
+				// set synchronization stamp to know whether the file synchronizer must become active
+				fSynchronizationStamp= fFile.getModificationStamp();
 
-			subMonitor.split(1);
-			// TODO commit persistable annotation model
+				subMonitor.split(1);
+				// TODO commit persistable annotation model
+			}
+		} finally {
+			try {
+				stream.close();
+			} catch (IOException x) {
+				// ignore, the document stream does not fail on close
+			}
 		}
 
 	}
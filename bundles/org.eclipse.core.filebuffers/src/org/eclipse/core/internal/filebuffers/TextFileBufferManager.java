@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,8 +20,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
@@ -35,9 +41,11 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.content.IContentDescription;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
@@ -70,6 +78,11 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		}
 	}
 
+	/**
+	 * The maximum number of file buffers created in parallel by {@link #connectAll(IPath[], LocationKind, IProgressMonitor)}.
+	 */
+	private static final int MAX_PARALLEL_CREATIONS= 4;
+
 	protected static final IContentType TEXT_CONTENT_TYPE= Platform.getContentTypeManager().getContentType(IContentTypeManager.CT_TEXT);
 
 	private Map<IPath, AbstractFileBuffer> fFilesBuffers= new HashMap<>();
@@ -100,21 +113,155 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		if (locationKind == LocationKind.NORMALIZE)
 			location= normalizeLocation(location);
 
-		AbstractFileBuffer fileBuffer= null;
+		if (connectExistingFileBuffer(location))
+			return;
+
+		AbstractFileBuffer fileBuffer= createConnectableFileBuffer(location, locationKind, monitor);
+		connectFileBuffer(location, fileBuffer);
+	}
+
+	@Override
+	public void connectAll(IPath[] locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException {
+		Assert.isNotNull(locations);
+		IPath[] normalizedLocations= new IPath[locations.length];
+		for (int i= 0; i < locations.length; i++) {
+			Assert.isNotNull(locations[i]);
+			normalizedLocations[i]= locationKind == LocationKind.NORMALIZE ? normalizeLocation(locations[i]) : locations[i];
+		}
+
+		SubMonitor subMonitor= SubMonitor.convert(monitor, normalizedLocations.length);
+		Map<IPath, Future<AbstractFileBuffer>> pendingFileBuffers= createFileBuffersInParallel(normalizedLocations, locationKind);
+		List<IPath> connectedLocations= new ArrayList<>(normalizedLocations.length);
+		boolean success= false;
+		try {
+			for (IPath location : normalizedLocations) {
+				Future<AbstractFileBuffer> pendingFileBuffer= pendingFileBuffers.remove(location);
+				if (pendingFileBuffer != null)
+					connectFileBuffer(location, getPendingFileBuffer(pendingFileBuffer));
+				else if (!connectExistingFileBuffer(location))
+					connectFileBuffer(location, createConnectableFileBuffer(location, locationKind, null));
+				connectedLocations.add(location);
+				subMonitor.split(1);
+			}
+			success= true;
+		} finally {
+			if (!success) {
+				for (Future<AbstractFileBuffer> pendingFileBuffer : pendingFileBuffers.values())
+					discardPendingFileBuffer(pendingFileBuffer);
+				for (IPath location : connectedLocations) {
+					try {
+						disconnect(location, LocationKind.LOCATION, null);
+					} catch (CoreException ex) {
+						ILog.of(TextFileBufferManager.class).log(ex.getStatus());
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates the file buffers for the given locations that are not yet connected
+	 * in parallel. The created file buffers are not connected.
+	 *
+	 * @param locations the normalized locations
+	 * @param locationKind the kind of the given locations
+	 * @return the file buffers being created, by location
+	 */
+	private Map<IPath, Future<AbstractFileBuffer>> createFileBuffersInParallel(IPath[] locations, LocationKind locationKind) {
+		Map<IPath, Future<AbstractFileBuffer>> pendingFileBuffers= new HashMap<>();
+		Set<IPath> missingLocations= new LinkedHashSet<>();
 		synchronized (fFilesBuffers) {
-			fileBuffer= internalGetFileBuffer(location);
+			for (IPath location : locations) {
+				if (internalGetFileBuffer(location) == null)
+					missingLocations.add(location);
+			}
+		}
+		if (missingLocations.size() < 2)
+			return pendingFileBuffers;
+
+		int threads= Math.min(missingLocations.size(), Math.max(1, Math.min(MAX_PARALLEL_CREATIONS, Runtime.getRuntime().availableProcessors())));
+		ExecutorService executor= Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread= new Thread(runnable, "File Buffer Loader"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			for (IPath location : missingLocations)
+				pendingFileBuffers.put(location, executor.submit(() -> createConnectableFileBuffer(location, locationKind, null)));
+		} finally {
+			// The submitted creations still complete, idle threads terminate
+			executor.shutdown();
+		}
+		return pendingFileBuffers;
+	}
+
+	private AbstractFileBuffer getPendingFileBuffer(Future<AbstractFileBuffer> pendingFileBuffer) throws CoreException {
+		try {
+			return pendingFileBuffer.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException ex) {
+			Throwable cause= ex.getCause();
+			if (cause instanceof CoreException)
+				throw (CoreException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new CoreException(new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CREATION_FAILED, FileBuffersMessages.FileBufferManager_error_canNotCreateFilebuffer, cause));
+		}
+	}
+
+	private void discardPendingFileBuffer(Future<AbstractFileBuffer> pendingFileBuffer) {
+		if (pendingFileBuffer.cancel(false))
+			return;
+		try {
+			AbstractFileBuffer fileBuffer= pendingFileBuffer.get();
+			fileBuffer.disconnect();
+			fileBuffer.dispose();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException | CoreException ex) {
+			// the file buffer has not been created or is discarded anyway
+		}
+	}
+
+	/**
+	 * Connects the file buffer for the given location if there is one.
+	 *
+	 * @param location the normalized location
+	 * @return <code>true</code> if an existing file buffer was connected
+	 */
+	private boolean connectExistingFileBuffer(IPath location) {
+		synchronized (fFilesBuffers) {
+			AbstractFileBuffer fileBuffer= internalGetFileBuffer(location);
 			if (fileBuffer != null)  {
 				fileBuffer.connect();
-				return;
+				return true;
 			}
 		}
+		return false;
+	}
 
-		fileBuffer= createFileBuffer(location, locationKind);
+	private AbstractFileBuffer createConnectableFileBuffer(IPath location, LocationKind locationKind, IProgressMonitor monitor) throws CoreException {
+		AbstractFileBuffer fileBuffer= createFileBuffer(location, locationKind);
 		if (fileBuffer == null)
 			throw new CoreException(new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CREATION_FAILED, FileBuffersMessages.FileBufferManager_error_canNotCreateFilebuffer, null));
 
 		fileBuffer.create(location, monitor);
+		return fileBuffer;
+	}
 
+	/**
+	 * Registers and connects the given newly created file buffer, unless another
+	 * file buffer has been registered for the location in the meantime.
+	 *
+	 * @param location the normalized location
+	 * @param fileBuffer the created file buffer
+	 * @throws CoreException if the given file buffer could not be discarded
+	 */
+	private void connectFileBuffer(IPath location, AbstractFileBuffer fileBuffer) throws CoreException {
 		synchronized (fFilesBuffers) {
 			AbstractFileBuffer oldFileBuffer= internalGetFileBuffer(location);
 			if (oldFileBuffer != null) {
@@ -208,6 +355,24 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		fileBuffer.dispose();
 	}
 
+	@Override
+	public void disconnectAll(IPath[] locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException {
+		Assert.isNotNull(locations);
+		SubMonitor subMonitor= SubMonitor.convert(monitor, locations.length);
+		CoreException firstException= null;
+		for (IPath location : locations) {
+			try {
+				disconnect(location, locationKind, null);
+			} catch (CoreException ex) {
+				if (firstException == null)
+					firstException= ex;
+			}
+			subMonitor.worked(1);
+		}
+		if (firstException != null)
+			throw firstException;
+	}
+
 	@Override
 	public void disconnectFileStore(IFileStore fileStore, IProgressMonitor monitor) throws CoreException {
 		Assert.isLegal(fileStore != null);
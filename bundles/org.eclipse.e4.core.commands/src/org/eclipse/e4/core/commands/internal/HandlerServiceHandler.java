@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2015 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,7 +14,9 @@
 
 package org.eclipse.e4.core.commands.internal;
 
+import java.lang.annotation.Annotation;
 import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
 import org.eclipse.core.commands.AbstractHandlerWithState;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
@@ -42,12 +44,28 @@ public class HandlerServiceHandler extends AbstractHandlerWithState {
 	private static final String HANDLER_MISSING_EXECUTE_ANNOTATION = " handler is missing @Execute"; //$NON-NLS-1$
 	private static final Object missingExecute = new Object();
 
+	/**
+	 * Whether a handler class has a method annotated with {@link CanExecute}.
+	 * Enablement is checked for every menu and tool item update, and handlers
+	 * without such a method are always enabled, so there is no need to have the
+	 * injector search and invoke one.
+	 */
+	private static final ClassValue<Boolean> hasCanExecute = annotatedMethodLookup(CanExecute.class);
+
+	/**
+	 * Whether a handler class has a method annotated with {@link SetEnabled}.
+	 */
+	private static final ClassValue<Boolean> hasSetEnabled = annotatedMethodLookup(SetEnabled.class);
+
 	protected final String commandId;
+	// Context key of the active handler, see HandlerServiceImpl#lookUpHandler
+	private final String handlerKey;
 	// Remove state from currentStateHandler when it goes out of scope
 	protected WeakReference<IObjectWithState> currentStateHandler = new WeakReference<>(null);
 
 	public HandlerServiceHandler(String commandId) {
 		this.commandId = commandId;
+		this.handlerKey = HandlerServiceImpl.H_ID + commandId;
 	}
 
 	@Override
@@ -58,12 +76,16 @@ public class HandlerServiceHandler extends AbstractHandlerWithState {
 		if (executionContext == null) {
 			return super.isEnabled();
 		}
-		Object handler = HandlerServiceImpl.lookUpHandler(executionContext, commandId);
+		Object handler = lookUpHandler(executionContext);
 		switchHandler(handler);
 		if (handler == null) {
 			setBaseEnabled(false);
 			return super.isEnabled();
 		}
+		if (!hasCanExecute.get(handler.getClass()).booleanValue()) {
+			setBaseEnabled(true);
+			return super.isEnabled();
+		}
 		IEclipseContext staticContext = contexts.staticContext; // getStaticContext(contexts);
 		Boolean result = (Boolean) ContextInjectionFactory.invoke(handler, CanExecute.class,
 				executionContext, staticContext, Boolean.TRUE);
@@ -78,9 +100,9 @@ public class HandlerServiceHandler extends AbstractHandlerWithState {
 		if (executionContext == null) {
 			return;
 		}
-		Object handler = HandlerServiceImpl.lookUpHandler(executionContext, commandId);
+		Object handler = lookUpHandler(executionContext);
 		switchHandler(handler);
-		if (handler == null) {
+		if (handler == null || !hasSetEnabled.get(handler.getClass()).booleanValue()) {
 			return;
 		}
 		IEclipseContext staticContext = getStaticContext(executionContext);
@@ -95,6 +117,36 @@ public class HandlerServiceHandler extends AbstractHandlerWithState {
 		}
 	}
 
+	private Object lookUpHandler(IEclipseContext context) {
+		return context.getActiveLeaf().get(handlerKey);
+	}
+
+	private static ClassValue<Boolean> annotatedMethodLookup(Class<? extends Annotation> annotation) {
+		return new ClassValue<>() {
+			@Override
+			protected Boolean computeValue(Class<?> type) {
+				try {
+					for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+						for (Method method : c.getDeclaredMethods()) {
+							if (method.isAnnotationPresent(annotation)) {
+								return Boolean.TRUE;
+							}
+						}
+					}
+					for (Method method : type.getMethods()) {
+						if (method.isAnnotationPresent(annotation)) {
+							return Boolean.TRUE;
+						}
+					}
+					return Boolean.FALSE;
+				} catch (LinkageError | SecurityException e) {
+					// let the injector deal with the class as before
+					return Boolean.TRUE;
+				}
+			}
+		};
+	}
+
 	private IEclipseContext getStaticContext(IEclipseContext executionContext) {
 		final ExecutionContexts pair = HandlerServiceImpl.peek();
 		if (pair != null) {
@@ -130,7 +182,7 @@ public class HandlerServiceHandler extends AbstractHandlerWithState {
 	public boolean isHandled() {
 		ExecutionContexts contexts = HandlerServiceImpl.peek();
 		if (contexts != null) {
-			Object handler = HandlerServiceImpl.lookUpHandler(contexts.context, commandId);
+			Object handler = lookUpHandler(contexts.context);
 			switchHandler(handler);
 			if (handler instanceof IHandler) {
 				return ((IHandler) handler).isHandled();
@@ -149,7 +201,7 @@ public class HandlerServiceHandler extends AbstractHandlerWithState {
 					new NotHandledException(FAILED_TO_FIND_HANDLER_DURING_EXECUTION));
 		}
 
-		Object handler = HandlerServiceImpl.lookUpHandler(executionContext, commandId);
+		Object handler = lookUpHandler(executionContext);
 		switchHandler(handler);
 		if (handler == null) {
 			return null;
@@ -231,7 +283,7 @@ public class HandlerServiceHandler extends AbstractHandlerWithState {
 		if (contexts == null) {
 			return null;
 		}
-		Object handler = HandlerServiceImpl.lookUpHandler(contexts.context, commandId);
+		Object handler = lookUpHandler(contexts.context);
 		switchHandler(handler);
 		if (!(handler instanceof IObjectWithState)) {
 			return null;
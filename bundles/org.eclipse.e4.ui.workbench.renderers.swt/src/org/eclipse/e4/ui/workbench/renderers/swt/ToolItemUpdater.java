@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2015 IBM Corporation and others.
+ * Copyright (c) 2014, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,7 +25,7 @@ public class ToolItemUpdater implements Runnable {
 
 	private static int DELAY = 100;
 	private long timestampOfEarliestQueuedUpdate = 0;
-	private List<AbstractContributionItem> itemsToCheck = new ArrayList<>();
+	private final Set<AbstractContributionItem> itemsToCheck = new LinkedHashSet<>();
 	private final List<AbstractContributionItem> orphanedToolItems = new ArrayList<>();
 	private final Set<AbstractContributionItem> itemsToUpdateLater = new LinkedHashSet<>();
 
@@ -37,9 +37,7 @@ public class ToolItemUpdater implements Runnable {
 	}
 
 	void registerItem(AbstractContributionItem item) {
-		if (!itemsToCheck.contains(item)) {
-			itemsToCheck.add(item);
-		}
+		itemsToCheck.add(item);
 	}
 
 	void removeItem(AbstractContributionItem item) {
@@ -47,23 +45,12 @@ public class ToolItemUpdater implements Runnable {
 	}
 
 	public void updateContributionItems(Selector selector) {
-		boolean doRunNow = false;
+		boolean queued = false;
 		for (final AbstractContributionItem ci : itemsToCheck) {
 			if (ci.getModel() != null && ci.getModel().getParent() != null) {
 				if (selector.select(ci.getModel())) {
-					itemsToUpdateLater.add(ci);
-					if (timestampOfEarliestQueuedUpdate == 0) {
-						timestampOfEarliestQueuedUpdate = System.nanoTime();
-					}
-					if (System.nanoTime() - timestampOfEarliestQueuedUpdate > DELAY * 1_000_000L) {
-						// runnable was not called within the last DELAY milliseconds, do it now.
-						// For scenario: a plugin is forcing that updateContributionItems is called
-						// again and again in less than given DELAY frequency. TimerExec would then
-						// never be executed.
-						doRunNow = true;
-					} else {
-						Display.getDefault().timerExec(DELAY, this);
-					}
+					queueUpdate(ci);
+					queued = true;
 				}
 			} else {
 				orphanedToolItems.add(ci);
@@ -73,8 +60,27 @@ public class ToolItemUpdater implements Runnable {
 			itemsToCheck.removeAll(orphanedToolItems);
 			orphanedToolItems.clear();
 		}
-		if (doRunNow) {
+		if (queued) {
+			scheduleUpdate();
+		}
+	}
+
+	private void queueUpdate(AbstractContributionItem ci) {
+		itemsToUpdateLater.add(ci);
+		if (timestampOfEarliestQueuedUpdate == 0) {
+			timestampOfEarliestQueuedUpdate = System.nanoTime();
+		}
+	}
+
+	private void scheduleUpdate() {
+		if (System.nanoTime() - timestampOfEarliestQueuedUpdate > DELAY * 1_000_000L) {
+			// runnable was not called within the last DELAY milliseconds, do it now.
+			// For scenario: a plugin is forcing that updateContributionItems is called
+			// again and again in less than given DELAY frequency. TimerExec would then
+			// never be executed.
 			run();
+		} else {
+			Display.getDefault().timerExec(DELAY, this);
 		}
 	}
 
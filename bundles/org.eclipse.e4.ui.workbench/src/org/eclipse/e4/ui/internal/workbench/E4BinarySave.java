@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl.BinaryIO.Version;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl.EObjectOutputStream;
+import org.eclipse.emf.ecore.util.BasicInternalEList;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.XMLResource.URIHandler;
+
+/**
+ * Custom binary save handler for e4 workbench model. Does filter elements that
+ * shall not be persisted without changing the underlying model, like
+ * {@link E4XMISave}. References to elements that are not persisted are saved
+ * as unset, the same as an unresolved reference of the XMI format.
+ */
+public class E4BinarySave extends EObjectOutputStream {
+
+	private final URIHandler uriHandler;
+
+	public E4BinarySave(OutputStream outputStream, Map<?, ?> options, Version version, URIHandler uriHandler)
+			throws IOException {
+		super(outputStream, options, version);
+		this.uriHandler = uriHandler;
+	}
+
+	@Override
+	protected URI deresolve(URI uri) {
+		if (uriHandler != null) {
+			return uriHandler.deresolve(uri);
+		}
+		return super.deresolve(uri);
+	}
+
+	/*
+	 * Filter elements that are not be persisted, both from containment and from
+	 * reference lists.
+	 */
+	@Override
+	public void saveEObjects(InternalEList<? extends InternalEObject> internalEObjects, Check check)
+			throws IOException {
+		for (InternalEObject eObject : internalEObjects) {
+			if (!isPersisted(eObject, check)) {
+				BasicInternalEList<InternalEObject> persisted = new BasicInternalEList<>(InternalEObject.class,
+						internalEObjects.size());
+				for (InternalEObject element : internalEObjects) {
+					if (isPersisted(element, check)) {
+						persisted.addUnique(element);
+					}
+				}
+				super.saveEObjects(persisted, check);
+				return;
+			}
+		}
+		super.saveEObjects(internalEObjects, check);
+	}
+
+	@Override
+	public void saveEObject(InternalEObject internalEObject, Check check) throws IOException {
+		if (internalEObject != null && !isPersisted(internalEObject, check)) {
+			super.saveEObject(null, check);
+			return;
+		}
+		super.saveEObject(internalEObject, check);
+	}
+
+	/**
+	 * Returns whether the given element is persisted. Contained elements are only
+	 * saved if their container is, so they only need to be checked themselves.
+	 * Referenced elements may be contained in an element that is not persisted.
+	 */
+	private boolean isPersisted(EObject eObject, Check check) {
+		if (check != Check.RESOURCE) {
+			return E4XMISave.isPersisted(eObject);
+		}
+		for (EObject current = eObject; current != null; current = current.eContainer()) {
+			if (!E4XMISave.isPersisted(current)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 BestSolution.at and others.
+ * Copyright (c) 2008, 2026 BestSolution.at and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -88,6 +88,23 @@ public class E4Workbench implements IWorkbench {
 	 */
 	public static final String FORCED_SHOW_LOCATION = "forcedShowLocation"; //$NON-NLS-1$
 
+	/**
+	 * The argument for whether to persist the workbench model in the EMF binary
+	 * format instead of XMI <br>
+	 * <br>
+	 * Value is: <code>persistBinary</code>
+	 */
+	public static final String PERSIST_BINARY = "persistBinary"; //$NON-NLS-1$
+
+	/**
+	 * The argument for whether to skip merging the model fragments into a
+	 * persisted model if the contributing bundles did not change since the
+	 * fragments were last merged into it <br>
+	 * <br>
+	 * Value is: <code>cacheModelFragments</code>
+	 */
+	public static final String CACHE_MODEL_FRAGMENTS = "cacheModelFragments"; //$NON-NLS-1$
+
 	private final String id;
 	private ServiceRegistration<?> osgiRegistration;
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,13 +15,19 @@
 
 package org.eclipse.e4.ui.internal.workbench;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.WeakHashMap;
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl.BinaryIO.Version;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl.EObjectOutputStream;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emf.ecore.xmi.XMLSave;
 import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
@@ -101,6 +107,54 @@ public class E4XMIResource extends XMIResourceImpl {
 		return id;
 	}
 
+	/*
+	 * The binary format only saves the ids found in the id map, which may still
+	 * contain elements that have been removed, and lacks the ids of elements that
+	 * have never been asked for one. Save the ids of exactly the saved elements,
+	 * creating them as the XML save does.
+	 */
+	@Override
+	public void doSave(OutputStream outputStream, Map<?, ?> options) throws IOException {
+		if (options == null || !Boolean.TRUE.equals(options.get(OPTION_BINARY))) {
+			super.doSave(outputStream, options);
+			return;
+		}
+
+		boolean filter = Boolean.TRUE.equals(options.get(OPTION_FILTER_PERSIST_STATE));
+		Map<EObject, String> ids = new HashMap<>();
+		for (TreeIterator<EObject> it = getAllContents(); it.hasNext();) {
+			EObject eObject = it.next();
+			if (filter && !E4XMISave.isPersisted(eObject)) {
+				it.prune();
+				continue;
+			}
+			String id = getID(eObject);
+			if (id != null) {
+				ids.put(eObject, id);
+			}
+		}
+
+		Map<EObject, String> allIds = eObjectToIDMap;
+		eObjectToIDMap = ids;
+		try {
+			super.doSave(outputStream, options);
+		} finally {
+			eObjectToIDMap = allIds;
+		}
+	}
+
+	/*
+	 * Create custom binary save to allow filtering of volatile UI elements.
+	 */
+	@Override
+	protected EObjectOutputStream createEObjectOutputStream(OutputStream outputStream, Map<?, ?> options,
+			Version version, URIHandler uriHandler) throws IOException {
+		if (Boolean.TRUE.equals(options.get(OPTION_FILTER_PERSIST_STATE))) {
+			return new E4BinarySave(outputStream, options, version, uriHandler);
+		}
+		return super.createEObjectOutputStream(outputStream, options, version, uriHandler);
+	}
+
 	/*
 	 * Create custom XML save to allow filtering of volatile UI elements.
 	 */
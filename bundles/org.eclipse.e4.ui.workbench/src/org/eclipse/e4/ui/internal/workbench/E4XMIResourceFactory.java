@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,10 +25,17 @@ import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
 import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
 
 /**
- * Resource factory for {@link E4XMIResource}.
+ * Resource factory for {@link E4XMIResource}. Resources with the
+ * {@link #BINARY_EXTENSION binary extension} are loaded and saved in the EMF
+ * binary format instead of XMI.
  */
 public class E4XMIResourceFactory extends XMIResourceFactoryImpl {
 
+	/**
+	 * File extension of application models saved in the EMF binary format.
+	 */
+	public static final String BINARY_EXTENSION = "bin"; //$NON-NLS-1$
+
 	/**
 	 * List used for EMF {@link XMLResource#OPTION_USE_CACHED_LOOKUP_TABLE} option value. Packaged
 	 * in a ThreadLocal per EMF recommendation for thread safety.
@@ -62,6 +69,11 @@ public class E4XMIResourceFactory extends XMIResourceFactoryImpl {
 		loadOptions.put(XMLResource.OPTION_USE_PARSER_POOL, parserPool);
 		loadOptions.put(XMLResource.OPTION_USE_XML_NAME_TO_FEATURE_MAP, nameToFeatureMap.get());
 		loadOptions.put(XMLResource.OPTION_USE_DEPRECATED_METHODS, Boolean.FALSE);
+
+		if (uri != null && BINARY_EXTENSION.equals(uri.fileExtension())) {
+			saveOptions.put(XMLResource.OPTION_BINARY, Boolean.TRUE);
+			loadOptions.put(XMLResource.OPTION_BINARY, Boolean.TRUE);
+		}
 		return resource;
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2021 BestSolution.at and others.
+ * Copyright (c) 2010, 2026 BestSolution.at and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,11 +25,17 @@ import static org.eclipse.e4.ui.workbench.modeling.IModelProcessorContribution.B
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -38,11 +44,17 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.e4.core.contexts.ContextInjectionFactory;
 import org.eclipse.e4.core.contexts.EclipseContextFactory;
 import org.eclipse.e4.core.contexts.IEclipseContext;
@@ -62,9 +74,13 @@ import org.eclipse.e4.ui.workbench.modeling.IModelProcessorContribution.ModelEle
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.util.Diagnostician;
 import org.eclipse.emf.ecore.util.EContentsEList;
 import org.eclipse.emf.ecore.util.EcoreUtil;
@@ -202,6 +218,12 @@ public class ModelAssembler {
 	private static final String INITIAL = "initial"; //$NON-NLS-1$
 	private static final String NOTEXISTS = "notexists"; //$NON-NLS-1$
 
+	/**
+	 * Key of the persisted state of the application under which the fingerprint
+	 * of the fragment contributions last merged into the model is stored.
+	 */
+	private static final String FRAGMENTS_STATE_KEY = "modelAssembler.fragments"; //$NON-NLS-1$
+
 	private LoggerFactory factory;
 	private Logger logger;
 
@@ -311,8 +333,21 @@ public class ModelAssembler {
 
 			// run processors which are marked to run before fragments
 			runProcessors(extensions, initial, false);
-			// process fragments (and resolve imports)
-			processFragments(extensions, initial);
+			// process fragments (and resolve imports), unless the persisted model
+			// already contains the fragments of the very same bundles
+			String fragmentsKey = isCacheFragments() ? computeFragmentsKey(extensions) : null;
+			if (!initial && fragmentsKey != null
+					&& fragmentsKey.equals(application.getPersistedState().get(FRAGMENTS_STATE_KEY))) {
+				debug("Fragment contributions unchanged, skipping fragment merging"); //$NON-NLS-1$
+				if (this.tracker != null) {
+					this.tracker.open();
+				}
+			} else {
+				processFragments(extensions, initial);
+				if (fragmentsKey != null) {
+					application.getPersistedState().put(FRAGMENTS_STATE_KEY, fragmentsKey);
+				}
+			}
 			// run processors which are marked to run after fragments
 			runProcessors(extensions, initial, true);
 		}
@@ -331,6 +366,22 @@ public class ModelAssembler {
 	 * @param initial    <code>true</code> if running from a non-persisted state
 	 */
 	private void processFragments(IExtension[] extensions, boolean initial) {
+		List<URI> uris = new ArrayList<>();
+		for (IExtension extension : extensions) {
+			for (IConfigurationElement ce : extension.getConfigurationElements()) {
+				if ("fragment".equals(ce.getName()) //$NON-NLS-1$
+						&& (initial || !INITIAL.equals(ce.getAttribute(APPLY_PROPERTY_KEY)))
+						&& ce.getAttribute("uri") != null) { //$NON-NLS-1$
+					try {
+						uris.add(createFragmentURI(ce.getAttribute("uri"), ce.getContributor().getName())); //$NON-NLS-1$
+					} catch (RuntimeException e) {
+						// reported when the fragment is processed
+					}
+				}
+			}
+		}
+		loadFragmentResources(uris);
+
 		List<ModelFragmentWrapper> wrappers = new ArrayList<>();
 		for (IExtension extension : extensions) {
 			IConfigurationElement[] ces = extension.getConfigurationElements();
@@ -524,13 +575,7 @@ public class ModelAssembler {
 
 		URI uri;
 		try {
-			// check if the attrURI is already a platform URI
-			if (URIHelper.isPlatformURI(attrURI)) {
-				uri = URI.createURI(attrURI);
-			} else {
-				String path = bundleName + '/' + attrURI;
-				uri = URI.createPlatformPluginURI(path, false);
-			}
+			uri = createFragmentURI(attrURI, bundleName);
 		} catch (RuntimeException e) {
 			warn("Invalid location {} of model extension {}", attrURI, bundleName, e); //$NON-NLS-1$
 			return null;
@@ -558,6 +603,198 @@ public class ModelAssembler {
 		return modelFragments;
 	}
 
+	private static URI createFragmentURI(String attrURI, String bundleName) {
+		// check if the attrURI is already a platform URI
+		if (URIHelper.isPlatformURI(attrURI)) {
+			return URI.createURI(attrURI);
+		}
+		String path = bundleName + '/' + attrURI;
+		return URI.createPlatformPluginURI(path, false);
+	}
+
+	/**
+	 * Loads the fragment resources with the given URIs into the resource set of
+	 * the application model. The resources are parsed in parallel on a dedicated
+	 * executor, each into its own resource set that shares nothing with the
+	 * others but a registry of the already resolved packages, and are then moved
+	 * into the resource set of the application model. Resources that fail to
+	 * load this way are left to be loaded on demand, so that the failure is
+	 * reported when the fragment is read.
+	 *
+	 * @param uris the URIs of the fragment resources
+	 */
+	private void loadFragmentResources(List<URI> uris) {
+		ResourceSet resourceSet = ((EObject) application).eResource().getResourceSet();
+		List<Resource> resources = new ArrayList<>();
+		EPackage.Registry packageRegistry = null;
+		for (URI uri : new LinkedHashSet<>(uris)) {
+			if (resourceSet.getResource(uri, false) == null) {
+				if (packageRegistry == null) {
+					packageRegistry = new ResolvedPackageRegistry(resourceSet);
+				}
+				Resource resource = createScratchResourceSet(resourceSet, packageRegistry).createResource(uri);
+				if (resource != null) {
+					resources.add(resource);
+				}
+			}
+		}
+		if (resources.size() < 2) {
+			// nothing to gain, the resources are loaded on demand
+			return;
+		}
+
+		int threads = Math.min(resources.size(),
+				Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+		AtomicInteger count = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "Model Fragment Loader " + count.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<Boolean>> futures = new ArrayList<>(resources.size());
+			for (Resource resource : resources) {
+				futures.add(executor.submit(() -> {
+					try {
+						resource.load(resource.getResourceSet().getLoadOptions());
+						return Boolean.TRUE;
+					} catch (IOException | RuntimeException e) {
+						return Boolean.FALSE;
+					}
+				}));
+			}
+			for (int i = 0; i < resources.size(); i++) {
+				Resource resource = resources.get(i);
+				if (futures.get(i).get().booleanValue() && resourceSet.getResource(resource.getURI(), false) == null) {
+					resourceSet.getResources().add(resource);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// the remaining resources are loaded on demand
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Creates a resource set that is configured like the given one, but does not
+	 * share any mutable state with it.
+	 */
+	private static ResourceSet createScratchResourceSet(ResourceSet resourceSet, EPackage.Registry packageRegistry) {
+		ResourceSetImpl scratch = new ResourceSetImpl();
+		scratch.setPackageRegistry(packageRegistry);
+		Resource.Factory.Registry factories = resourceSet.getResourceFactoryRegistry();
+		scratch.getResourceFactoryRegistry().getExtensionToFactoryMap().putAll(factories.getExtensionToFactoryMap());
+		scratch.getResourceFactoryRegistry().getProtocolToFactoryMap().putAll(factories.getProtocolToFactoryMap());
+		scratch.getResourceFactoryRegistry().getContentTypeToFactoryMap()
+				.putAll(factories.getContentTypeToFactoryMap());
+		scratch.getURIConverter().getURIMap().putAll(resourceSet.getURIConverter().getURIMap());
+		scratch.getLoadOptions().putAll(resourceSet.getLoadOptions());
+		return scratch;
+	}
+
+	/**
+	 * A package registry holding the packages that are already resolved for the
+	 * given resource set. Packages are never resolved through it, so it can be
+	 * read concurrently. Fragments that use any other package fail to load with
+	 * it, and are loaded on demand instead.
+	 */
+	private static final class ResolvedPackageRegistry extends EPackageRegistryImpl {
+
+		private static final long serialVersionUID = 1L;
+
+		ResolvedPackageRegistry(ResourceSet resourceSet) {
+			for (Map.Entry<String, Object> entry : EPackage.Registry.INSTANCE.entrySet()) {
+				if (entry.getValue() instanceof EPackage) {
+					put(entry.getKey(), entry.getValue());
+				}
+			}
+			EPackage.Registry registry = resourceSet.getPackageRegistry();
+			for (String nsURI : new ArrayList<>(registry.keySet())) {
+				EPackage ePackage = registry.getEPackage(nsURI);
+				if (ePackage != null) {
+					put(nsURI, ePackage);
+				}
+			}
+			put(EcorePackage.eNS_URI, EcorePackage.eINSTANCE);
+			put(FragmentPackageImpl.eNS_URI, FragmentPackageImpl.eINSTANCE);
+		}
+
+		@Override
+		public EPackage getEPackage(String nsURI) {
+			EPackage ePackage = super.getEPackage(nsURI);
+			if (ePackage == null) {
+				throw new IllegalStateException("Package not resolved: " + nsURI); //$NON-NLS-1$
+			}
+			return ePackage;
+		}
+	}
+
+	/**
+	 * Computes a fingerprint of the fragment contributions from the given
+	 * extensions and the bundles with a Model-Fragment header. It changes
+	 * whenever a contribution is added or removed, or one of the contributing
+	 * bundles or fragment files is updated.
+	 *
+	 * @param extensions the extensions of the model extension point
+	 * @return the fingerprint
+	 */
+	private String computeFragmentsKey(IExtension[] extensions) {
+		StringBuilder key = new StringBuilder();
+		for (IExtension extension : extensions) {
+			for (IConfigurationElement ce : extension.getConfigurationElements()) {
+				if ("fragment".equals(ce.getName())) { //$NON-NLS-1$
+					String uri = ce.getAttribute("uri"); //$NON-NLS-1$
+					appendFragmentKey(key, Platform.getBundle(ce.getContributor().getName()), uri);
+					key.append(';').append(ce.getAttribute(APPLY_PROPERTY_KEY)).append('\n');
+				}
+			}
+		}
+		if (bundleContext != null) {
+			for (Bundle bundle : bundleContext.getBundles()) {
+				String fragmentHeader = bundle.getHeaders(Util.ZERO_LENGTH_STRING).get(MODEL_FRAGMENT_HEADER);
+				if (fragmentHeader != null
+						&& (bundle.getState() & (Bundle.STARTING | Bundle.ACTIVE | Bundle.STOPPING)) != 0) {
+					appendFragmentKey(key, bundle, fragmentHeader.split(";")[0]); //$NON-NLS-1$
+					key.append(';').append(fragmentHeader).append('\n');
+				}
+			}
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			return HexFormat.of().formatHex(digest.digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			return key.toString();
+		}
+	}
+
+	private static void appendFragmentKey(StringBuilder key, Bundle bundle, String uri) {
+		key.append(uri);
+		if (bundle == null) {
+			return;
+		}
+		long lastModified = bundle.getLastModified();
+		if (uri != null && !URIHelper.isPlatformURI(uri)) {
+			// bundles installed from a directory aren't updated when a file changes
+			URL entry = bundle.getEntry(uri);
+			if (entry != null) {
+				try {
+					lastModified = Math.max(lastModified, entry.openConnection().getLastModified());
+				} catch (IOException e) {
+					// use the bundle's modification time only
+				}
+			}
+		}
+		key.append(';').append(bundle.getSymbolicName()).append('_').append(bundle.getVersion()).append('@')
+				.append(lastModified);
+	}
+
+	private boolean isCacheFragments() {
+		return context != null && Boolean.TRUE.equals(context.get(E4Workbench.CACHE_MODEL_FRAGMENTS));
+	}
+
 	/**
 	 * Contributes the given {@link MModelFragment} to the application model.
 	 *
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.impl.ApplicationPackageImpl;
+import org.eclipse.e4.ui.model.application.ui.MUIElement;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
+import org.eclipse.e4.ui.model.application.ui.advanced.impl.AdvancedPackageImpl;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+
+/**
+ * Keeps track of the elements of an application model by their element id.
+ * The index is maintained from the EMF notifications of the model, so that the
+ * elements with a given id can be looked up without walking the whole model.
+ * <p>
+ * The index doesn't answer searches on its own. Given an id, it computes the
+ * set of elements a search has to descend into in order to reach all elements
+ * with that id, either through containment or through placeholder references.
+ * </p>
+ */
+class ModelElementIndex extends EContentAdapter {
+
+	private final MApplication application;
+
+	private final Map<String, Set<MApplicationElement>> elementsById = new HashMap<>();
+
+	private final Map<MUIElement, Set<MPlaceholder>> placeholdersByRef = new HashMap<>();
+
+	ModelElementIndex(MApplication application) {
+		this.application = application;
+		((Notifier) application).eAdapters().add(this);
+	}
+
+	/**
+	 * @return the application whose model is indexed
+	 */
+	MApplication getApplication() {
+		return application;
+	}
+
+	/**
+	 * Removes the index from the application model.
+	 */
+	void dispose() {
+		((Notifier) application).eAdapters().remove(this);
+		elementsById.clear();
+		placeholdersByRef.clear();
+	}
+
+	/**
+	 * Returns the elements a search has to visit in order to find all elements
+	 * of the application model with the given id. These are the elements with
+	 * the id, their containers and the placeholders referring to any of them,
+	 * along with the containers of those placeholders.
+	 *
+	 * @param id the element id
+	 * @return the elements to visit, or <code>null</code> if the elements with
+	 *         the given id can't be determined from the index because a
+	 *         placeholder refers to an element outside of the application model
+	 */
+	Set<Object> getElementsToVisit(String id) {
+		for (MUIElement ref : placeholdersByRef.keySet()) {
+			if (!isIndexed((EObject) ref)) {
+				return null;
+			}
+		}
+
+		Set<Object> toVisit = new HashSet<>();
+		Deque<EObject> pending = new ArrayDeque<>();
+		for (MApplicationElement element : elementsById.getOrDefault(id, Collections.emptySet())) {
+			pending.add((EObject) element);
+		}
+		while (!pending.isEmpty()) {
+			// placeholders referring to an element or one of its containers lead
+			// to a match as well
+			EObject current = pending.remove();
+			for (; current != null && toVisit.add(current); current = current.eContainer()) {
+				Set<MPlaceholder> placeholders = placeholdersByRef.get(current);
+				if (placeholders != null) {
+					for (MPlaceholder placeholder : placeholders) {
+						pending.add((EObject) placeholder);
+					}
+				}
+			}
+		}
+		return toVisit;
+	}
+
+	private boolean isIndexed(EObject element) {
+		return element == application || element.eAdapters().contains(this);
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+
+		if (notification.isTouch()) {
+			return;
+		}
+		Object feature = notification.getFeature();
+		if (feature == ApplicationPackageImpl.Literals.APPLICATION_ELEMENT__ELEMENT_ID) {
+			MApplicationElement element = (MApplicationElement) notification.getNotifier();
+			remove((String) notification.getOldValue(), element);
+			add(element.getElementId(), element);
+		} else if (feature == AdvancedPackageImpl.Literals.PLACEHOLDER__REF) {
+			MPlaceholder placeholder = (MPlaceholder) notification.getNotifier();
+			removePlaceholder((MUIElement) notification.getOldValue(), placeholder);
+			addPlaceholder(placeholder.getRef(), placeholder);
+		}
+	}
+
+	@Override
+	protected void setTarget(EObject target) {
+		super.setTarget(target);
+		if (target instanceof MApplicationElement) {
+			add(((MApplicationElement) target).getElementId(), (MApplicationElement) target);
+		}
+		if (target instanceof MPlaceholder) {
+			addPlaceholder(((MPlaceholder) target).getRef(), (MPlaceholder) target);
+		}
+	}
+
+	@Override
+	protected void unsetTarget(EObject target) {
+		super.unsetTarget(target);
+		if (target instanceof MApplicationElement) {
+			remove(((MApplicationElement) target).getElementId(), (MApplicationElement) target);
+		}
+		if (target instanceof MPlaceholder) {
+			removePlaceholder(((MPlaceholder) target).getRef(), (MPlaceholder) target);
+		}
+	}
+
+	private void add(String id, MApplicationElement element) {
+		if (id != null) {
+			elementsById.computeIfAbsent(id, k -> new HashSet<>(2)).add(element);
+		}
+	}
+
+	private void remove(String id, MApplicationElement element) {
+		if (id == null) {
+			return;
+		}
+		Set<MApplicationElement> elements = elementsById.get(id);
+		if (elements != null && elements.remove(element) && elements.isEmpty()) {
+			elementsById.remove(id);
+		}
+	}
+
+	private void addPlaceholder(MUIElement ref, MPlaceholder placeholder) {
+		if (ref != null) {
+			placeholdersByRef.computeIfAbsent(ref, k -> new HashSet<>(2)).add(placeholder);
+		}
+	}
+
+	private void removePlaceholder(MUIElement ref, MPlaceholder placeholder) {
+		if (ref == null) {
+			return;
+		}
+		Set<MPlaceholder> placeholders = placeholdersByRef.get(ref);
+		if (placeholders != null && placeholders.remove(placeholder) && placeholders.isEmpty()) {
+			placeholdersByRef.remove(ref);
+		}
+	}
+}
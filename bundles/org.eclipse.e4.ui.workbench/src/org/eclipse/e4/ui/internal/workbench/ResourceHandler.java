@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2021 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -54,6 +54,7 @@ import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.osgi.service.datalocation.Location;
 import org.osgi.framework.Bundle;
 
@@ -90,6 +91,11 @@ public class ResourceHandler implements IModelResourceHandler {
 	@Named(IWorkbench.CLEAR_PERSISTED_STATE)
 	private boolean clearPersistedState;
 
+	@Inject
+	@Optional
+	@Named(E4Workbench.PERSIST_BINARY)
+	private boolean persistBinary;
+
 	/**
 	 * Constructor.
 	 */
@@ -143,12 +149,16 @@ public class ResourceHandler implements IModelResourceHandler {
 		URI restoreLocation = null;
 
 		if (saveAndRestore) {
-			workbenchData = getWorkbenchSaveLocation();
+			workbenchData = getMostRecentWorkbenchData();
 			restoreLocation = URI.createFileURI(workbenchData.getAbsolutePath());
 		}
 
-		if (clearPersistedState && workbenchData != null && workbenchData.exists()) {
-			workbenchData.delete();
+		if (clearPersistedState && saveAndRestore) {
+			for (File data : getWorkbenchDataFiles()) {
+				if (data.exists()) {
+					data.delete();
+				}
+			}
 		}
 
 		// last stored time-stamp
@@ -172,6 +182,9 @@ public class ResourceHandler implements IModelResourceHandler {
 							"The persisted application model has no top-level window. Reinitializing with the default application model."); //$NON-NLS-1$
 				}
 				resource = null;
+			} else if (!workbenchData.equals(getWorkbenchSaveLocation())) {
+				// saved in the other format, save in the configured one from now on
+				resource.setURI(URI.createFileURI(getWorkbenchSaveLocation().getAbsolutePath()));
 			}
 		}
 		if (resource == null) {
@@ -214,6 +227,7 @@ public class ResourceHandler implements IModelResourceHandler {
 		if (saveAndRestore) {
 			Map<String, Object> options = new HashMap<>();
 			options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE);
+			options.put(XMLResource.OPTION_BINARY, Boolean.valueOf(persistBinary));
 			resource.save(options);
 		}
 	}
@@ -241,7 +255,33 @@ public class ResourceHandler implements IModelResourceHandler {
 	}
 
 	private File getWorkbenchSaveLocation() {
-		return new File(getBaseLocation(), "workbench.xmi"); //$NON-NLS-1$
+		return persistBinary ? getWorkbenchDataFiles()[1] : getWorkbenchDataFiles()[0];
+	}
+
+	/**
+	 * @return the files the model is saved to in the XMI and in the binary format
+	 */
+	private File[] getWorkbenchDataFiles() {
+		File baseLocation = getBaseLocation();
+		return new File[] { new File(baseLocation, "workbench.xmi"), //$NON-NLS-1$
+				new File(baseLocation, "workbench." + E4XMIResourceFactory.BINARY_EXTENSION) }; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the most recently saved model, which may have been saved in the
+	 * format not configured anymore.
+	 *
+	 * @return the most recently saved model file, or the save location if none
+	 *         exists
+	 */
+	private File getMostRecentWorkbenchData() {
+		File mostRecent = getWorkbenchSaveLocation();
+		for (File data : getWorkbenchDataFiles()) {
+			if (data.lastModified() > mostRecent.lastModified()) {
+				mostRecent = data;
+			}
+		}
+		return mostRecent;
 	}
 
 	private File getBaseLocation() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,13 @@
  *******************************************************************************/
 package org.eclipse.jface.text.source.projection;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Predicate;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Position;
@@ -191,4 +196,71 @@ public class ProjectionAnnotationModel extends AnnotationModel {
 		}
 		fireModelChanged();
 	}
+
+	/**
+	 * Replaces the projection annotations of the given range by the given annotations. Folding
+	 * strategies use this method to report the folding regions of the edited range only.
+	 * <p>
+	 * The existing annotations accepted by the filter whose position starts in the range are
+	 * matched with the given annotations. An existing annotation with the same position as a given
+	 * annotation is kept, an existing annotation with the same offset is moved to the position of
+	 * the given annotation, both keep their expansion state. The other existing annotations are
+	 * removed and the given annotations without a match are added. A single annotation model event
+	 * describing the differences is sent out, none if the annotations of the range are unchanged,
+	 * so that the projection viewer only updates the changed folding regions.
+	 * </p>
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @param annotations the annotations of the range together with their positions
+	 * @param filter accepts the existing annotations to replace, for example the annotations
+	 *            created by the calling folding strategy
+	 * @since 3.27
+	 */
+	public void replaceAnnotations(int offset, int length, Map<? extends ProjectionAnnotation, ? extends Position> annotations, Predicate<? super Annotation> filter) {
+		List<Annotation> deletions= new ArrayList<>();
+		Map<Position, Annotation> existing= new HashMap<>();
+		Iterator<Annotation> iterator= getAnnotationIterator(offset, length, false, true);
+		while (iterator.hasNext()) {
+			Annotation annotation= iterator.next();
+			Position position= getPosition(annotation);
+			if (position == null || !filter.test(annotation) || position.getOffset() < offset || position.getOffset() >= offset + length)
+				continue;
+			if (position.isDeleted() || position.getLength() == 0 || existing.putIfAbsent(new Position(position.getOffset(), position.getLength()), annotation) != null)
+				deletions.add(annotation);
+		}
+
+		List<Entry<? extends ProjectionAnnotation, ? extends Position>> unmatched= new ArrayList<>();
+		for (Entry<? extends ProjectionAnnotation, ? extends Position> entry : annotations.entrySet()) {
+			if (existing.remove(entry.getValue()) == null)
+				unmatched.add(entry);
+		}
+
+		Map<Integer, Annotation> existingByOffset= new HashMap<>();
+		for (Annotation annotation : existing.values()) {
+			if (existingByOffset.putIfAbsent(Integer.valueOf(getPosition(annotation).getOffset()), annotation) != null)
+				deletions.add(annotation);
+		}
+
+		boolean modified= false;
+		Map<ProjectionAnnotation, Position> additions= new HashMap<>();
+		for (Entry<? extends ProjectionAnnotation, ? extends Position> entry : unmatched) {
+			Position position= entry.getValue();
+			Annotation moved= existingByOffset.remove(Integer.valueOf(position.getOffset()));
+			if (moved != null) {
+				modifyAnnotationPosition(moved, position, false);
+				modified= true;
+			} else {
+				additions.put(entry.getKey(), position);
+			}
+		}
+		deletions.addAll(existingByOffset.values());
+
+		if (deletions.isEmpty() && additions.isEmpty()) {
+			if (modified)
+				fireModelChanged();
+			return;
+		}
+		modifyAnnotations(deletions.toArray(new Annotation[deletions.size()]), additions, null);
+	}
 }
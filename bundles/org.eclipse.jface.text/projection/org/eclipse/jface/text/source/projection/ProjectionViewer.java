@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -244,6 +244,25 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 			fExpectedExecutionCosts= -1;
 		}
 
+		/**
+		 * Returns whether this queue contains a command removing a range of the given projection
+		 * document which overlaps with the given master document range.
+		 *
+		 * @param projection the projection document
+		 * @param offset the offset of the master document range
+		 * @param length the length of the master document range
+		 * @return <code>true</code> if an overlapping range is removed by a queued command
+		 * @since 3.27
+		 */
+		boolean removes(ProjectionDocument projection, int offset, int length) {
+			for (ProjectionCommand command : fList) {
+				if (command.fType == ProjectionCommand.REMOVE && command.fProjection == projection
+						&& command.fOffset < offset + length && offset < command.fOffset + command.fLength)
+					return true;
+			}
+			return false;
+		}
+
 		boolean passedRedrawCostsThreshold() {
 			if (fExpectedExecutionCosts == -1)
 				computeExpectedExecutionCosts();
@@ -817,11 +836,16 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 		if (slave instanceof ProjectionDocument) {
 			ProjectionDocument projection= (ProjectionDocument) slave;
 
+			// nothing to do if the range is visible and nothing in it is collapsed, e.g. when
+			// the position of an expanded annotation changed
+			ProjectionAnnotation[] collapsed= computeCollapsedNestedAnnotations(offset, length);
+			if (collapsed == null && isProjected(projection, offset, length))
+				return;
+
 			// expand
 			addMasterDocumentRange(projection, offset, length);
 
 			// collapse contained regions
-			ProjectionAnnotation[] collapsed= computeCollapsedNestedAnnotations(offset, length);
 			if (collapsed != null) {
 				for (ProjectionAnnotation c : collapsed) {
 					IRegion[] regions = computeCollapsedRegions(fProjectionAnnotationModel.getPosition(c));
@@ -839,6 +863,27 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 		}
 	}
 
+	/**
+	 * Returns whether the given master range is entirely part of the given projection document,
+	 * including the changes queued for it.
+	 *
+	 * @param projection the projection document
+	 * @param offset the offset in the master document
+	 * @param length the length in the master document
+	 * @return <code>true</code> if the range is entirely visible
+	 * @throws BadLocationException in case the specified range is invalid
+	 * @since 3.27
+	 */
+	private boolean isProjected(ProjectionDocument projection, int offset, int length) throws BadLocationException {
+		int end= offset + length;
+		offset= toLineStart(projection.getMasterDocument(), offset, false);
+		length= toLineStart(projection.getMasterDocument(), end, true) - offset;
+		if (fCommandQueue != null && fCommandQueue.removes(projection, offset, length))
+			return false;
+		IRegion[] gaps= projection.computeUnprojectedMasterRegions(offset, length);
+		return gaps == null || gaps.length == 0;
+	}
+
 	/**
 	 * Processes the request for catch up with the annotation model in the UI thread. If the current
 	 * thread is not the UI thread or there are pending catch up requests, a new request is posted.
@@ -13,9 +13,11 @@
  */
 package org.eclipse.jface.internal.text.codemining;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,7 +30,9 @@ import java.util.stream.Collectors;
 
 import org.osgi.framework.Bundle;
 
+import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ILog;
@@ -37,11 +41,21 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IPositionUpdater;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.JFaceTextUtil;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+import org.eclipse.jface.text.codemining.ICodeMiningProviderExtension;
 import org.eclipse.jface.text.codemining.LineContentCodeMining;
 import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
 import org.eclipse.jface.text.source.ISourceViewer;
@@ -50,11 +64,57 @@ import org.eclipse.jface.text.source.inlined.InlinedAnnotationSupport;
 
 /**
  * Code Mining manager implementation.
+ * <p>
+ * The code minings of the providers implementing {@link ICodeMiningProviderExtension} are
+ * computed for the visible lines first, the code minings of other lines are computed once they
+ * are scrolled into view. The computed code minings are cached per line until the lines are
+ * edited, the cached code minings of lines which have not been computed again since the last
+ * update are rendered until they are computed again. Requests which became obsolete are canceled.
+ * Viewport changes are coalesced, so that scrolling does not flood the providers with requests.
+ * </p>
  *
  * @since 3.13
  */
 public class CodeMiningManager implements Runnable {
 
+	/**
+	 * The delay in milliseconds after the last viewport change before the code minings of the lines
+	 * scrolled into view are requested.
+	 */
+	private static final int VIEWPORT_UPDATE_DELAY= 50;
+
+	/**
+	 * A request for code minings to the providers, canceled as a whole.
+	 */
+	private static class Request {
+
+		/**
+		 * The progress monitor of the request.
+		 */
+		final IProgressMonitor monitor= new CancellationExceptionMonitor();
+
+		/**
+		 * The futures of the providers.
+		 */
+		final List<CompletableFuture<?>> futures= new ArrayList<>();
+
+		/**
+		 * Tells whether the request has been canceled.
+		 */
+		volatile boolean canceled;
+
+		/**
+		 * Cancels the request and the futures of the providers.
+		 */
+		void cancel() {
+			canceled= true;
+			monitor.setCanceled(true);
+			synchronized (futures) {
+				futures.forEach(future -> future.cancel(true));
+			}
+		}
+	}
+
 	/**
 	 * The source viewer
 	 */
@@ -71,9 +131,88 @@ public class CodeMiningManager implements Runnable {
 	private List<ICodeMiningProvider> fCodeMiningProviders;
 
 	/**
-	 * The current progress monitor.
+	 * The current request for the code minings of the document.
+	 */
+	private Request fRequest;
+
+	/**
+	 * The current request for the code minings of the visible lines.
 	 */
-	private IProgressMonitor fMonitor;
+	private Request fVisibleLinesRequest;
+
+	/**
+	 * The region requested by {@link #fVisibleLinesRequest}.
+	 */
+	private IRegion fVisibleLinesRegion;
+
+	/**
+	 * The pending update of the code minings of the lines scrolled into view, <code>null</code> if
+	 * none.
+	 */
+	private Runnable fViewportUpdate;
+
+	/**
+	 * The document whose code minings are cached, <code>null</code> if none.
+	 */
+	private IDocument fDocument;
+
+	/**
+	 * The number of changes of the document, used to discard results computed for an outdated
+	 * content.
+	 */
+	private long fModificationCount;
+
+	/**
+	 * The code minings of the providers which compute code minings for the whole document.
+	 */
+	private List<ICodeMining> fDocumentMinings= new ArrayList<>();
+
+	/**
+	 * The code minings of the providers implementing {@link ICodeMiningProviderExtension}.
+	 */
+	private final List<ICodeMining> fRegionMinings= new ArrayList<>();
+
+	/**
+	 * The line-aligned regions whose code minings have been computed since the last update and
+	 * which have not been edited.
+	 */
+	private final List<Position> fComputedRegions= new ArrayList<>();
+
+	/**
+	 * The positions of the code minings and regions which are updated with the document.
+	 */
+	private Set<Position> fTrackedPositions= Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * The position category of the tracked positions.
+	 */
+	private final String fPositionCategory= "__codemining" + hashCode(); //$NON-NLS-1$
+
+	/**
+	 * The updater of the tracked positions.
+	 */
+	private final IPositionUpdater fPositionUpdater= new DefaultPositionUpdater(fPositionCategory);
+
+	/**
+	 * Invalidates the cached code minings of the edited lines.
+	 */
+	private final IDocumentListener fDocumentListener= new IDocumentListener() {
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// Do nothing
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			invalidate(event);
+		}
+	};
+
+	/**
+	 * Requests the code minings of the lines scrolled into view.
+	 */
+	private final IViewportListener fViewportListener= verticalOffset -> viewportChanged();
 
 	/**
 	 * Constructor of codemining manager with the given arguments.
@@ -90,6 +229,7 @@ public class CodeMiningManager implements Runnable {
 		fViewer= viewer;
 		fInlinedAnnotationSupport= inlinedAnnotationSupport;
 		setCodeMiningProviders(codeMiningProviders);
+		fViewer.addViewportListener(fViewportListener);
 	}
 
 	/**
@@ -99,6 +239,8 @@ public class CodeMiningManager implements Runnable {
 	 */
 	public void setCodeMiningProviders(ICodeMiningProvider[] codeMiningProviders) {
 		cancel();
+		// the cached code minings belong to the previous providers
+		disconnect();
 		if (fCodeMiningProviders != null) {
 			fCodeMiningProviders.stream().forEach(ICodeMiningProvider::dispose);
 		}
@@ -110,6 +252,9 @@ public class CodeMiningManager implements Runnable {
 	 */
 	public void uninstall() {
 		cancel();
+		disconnect();
+		fViewer.removeViewportListener(fViewportListener);
+		cancelViewportUpdate();
 		if (fInlinedAnnotationSupport != null) {
 			fInlinedAnnotationSupport.updateAnnotations(Collections.emptySet());
 		}
@@ -124,38 +269,369 @@ public class CodeMiningManager implements Runnable {
 				|| fCodeMiningProviders.isEmpty() || fViewer.getAnnotationModel() == null) {
 			return;
 		}
-		// Cancel the last progress monitor to cancel last resolve and render of code
-		// minings
-		cancel();
-		// Update the code minings
-		updateCodeMinings();
+		runInUIThread(() -> {
+			// Cancel the last requests to cancel last resolve and render of code
+			// minings
+			cancel();
+			// Update the code minings
+			updateCodeMinings();
+		});
+	}
+
+	/**
+	 * Runs the given runnable in the UI thread of the viewer, unless the viewer is disposed.
+	 *
+	 * @param runnable the runnable
+	 */
+	private void runInUIThread(Runnable runnable) {
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed()) {
+			return;
+		}
+		Display display= textWidget.getDisplay();
+		if (display.getThread() == Thread.currentThread()) {
+			runnable.run();
+		} else {
+			display.asyncExec(() -> {
+				if (!textWidget.isDisposed()) {
+					runnable.run();
+				}
+			});
+		}
 	}
 
 	/**
-	 * Update the code minings.
+	 * Update the code minings, must be called in the UI thread.
 	 */
 	private void updateCodeMinings() {
-		// Refresh the code minings by using the new progress monitor.
-		fMonitor= new CancellationExceptionMonitor();
-		IProgressMonitor monitor= fMonitor;
-		// Collect the code minings for the viewer
-		getCodeMinings(fViewer, fCodeMiningProviders, monitor).thenAccept(symbols -> {
-			// check if request was canceled.
-			monitor.isCanceled();
-			// then group code minings by lines position
-			Map<Position, List<ICodeMining>> groups= groupByLines(symbols, fCodeMiningProviders);
-			// resolve and render code minings
-			renderCodeMinings(groups, fViewer, monitor);
-		});
+		IDocument document= fViewer.getDocument();
+		if (document == null) {
+			return;
+		}
+		connect(document);
+		// The cached code minings are rendered until they are computed again
+		fComputedRegions.clear();
+		// Refresh the code minings by using the new request.
+		Request request= new Request();
+		fRequest= request;
+		List<ICodeMiningProvider> providers= fCodeMiningProviders.stream()
+				.filter(provider -> !(provider instanceof ICodeMiningProviderExtension))
+				.collect(Collectors.toList());
+		if (!providers.isEmpty()) {
+			// Collect the code minings for the viewer
+			getCodeMinings(providers, provider -> provider.provideCodeMinings(fViewer, request.monitor), request).thenAccept(minings -> runInUIThread(() -> {
+				if (request.canceled || fDocument != document) {
+					return;
+				}
+				fDocumentMinings= new ArrayList<>(minings);
+				updateTrackedPositions();
+				// resolve and render code minings
+				renderCodeMinings(request.monitor);
+			}));
+		}
+		updateVisibleCodeMinings();
+	}
+
+	/**
+	 * Requests the code minings of the visible lines which have not been computed since the last
+	 * update from the providers implementing {@link ICodeMiningProviderExtension}, must be called
+	 * in the UI thread.
+	 */
+	private void updateVisibleCodeMinings() {
+		List<ICodeMiningProvider> providers= fCodeMiningProviders.stream()
+				.filter(ICodeMiningProviderExtension.class::isInstance)
+				.collect(Collectors.toList());
+		if (providers.isEmpty()) {
+			return;
+		}
+		IRegion region= getMissingVisibleRegion();
+		if (region == null) {
+			return;
+		}
+		if (fVisibleLinesRequest != null) {
+			// The lines scrolled into view in the meantime are requested once the request completes
+			if (isVisible(fVisibleLinesRegion)) {
+				return;
+			}
+			// The lines previously visible are requested again when they are scrolled into view
+			fVisibleLinesRequest.cancel();
+		}
+		Request request= new Request();
+		fVisibleLinesRequest= request;
+		fVisibleLinesRegion= region;
+		IDocument document= fDocument;
+		long modificationCount= fModificationCount;
+		getCodeMinings(providers, provider -> ((ICodeMiningProviderExtension) provider).provideCodeMinings(fViewer, region, request.monitor), request)
+				.thenAccept(minings -> runInUIThread(() -> {
+					if (request.canceled || fDocument != document || fModificationCount != modificationCount) {
+						return;
+					}
+					if (fVisibleLinesRequest == request) {
+						fVisibleLinesRequest= null;
+						fVisibleLinesRegion= null;
+					}
+					setRegionMinings(region, minings);
+					// resolve and render code minings
+					renderCodeMinings(request.monitor);
+					updateVisibleCodeMinings();
+				}));
+	}
+
+	/**
+	 * Requests the code minings of the lines scrolled into view shortly after the last viewport
+	 * change, once the code minings have been updated for the current document.
+	 */
+	private void viewportChanged() {
+		if (fViewportUpdate != null) {
+			return;
+		}
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed()) {
+			return;
+		}
+		Runnable update= new Runnable() {
+			@Override
+			public void run() {
+				if (fViewportUpdate != this || textWidget.isDisposed()) {
+					return;
+				}
+				fViewportUpdate= null;
+				if (fRequest != null && fDocument != null && fDocument == fViewer.getDocument()) {
+					updateVisibleCodeMinings();
+				}
+			}
+		};
+		fViewportUpdate= update;
+		textWidget.getDisplay().timerExec(VIEWPORT_UPDATE_DELAY, update);
+	}
+
+	/**
+	 * Cancels the pending update of the code minings of the lines scrolled into view.
+	 */
+	private void cancelViewportUpdate() {
+		Runnable update= fViewportUpdate;
+		fViewportUpdate= null;
+		StyledText textWidget= fViewer.getTextWidget();
+		if (update != null && textWidget != null && !textWidget.isDisposed()) {
+			textWidget.getDisplay().timerExec(-1, update);
+		}
+	}
+
+	/**
+	 * Returns whether the given region intersects the visible lines.
+	 *
+	 * @param region the line-aligned region
+	 * @return <code>true</code> if some of the lines of the region are visible
+	 */
+	private boolean isVisible(IRegion region) {
+		StyledText textWidget= fViewer.getTextWidget();
+		if (fDocument == null || textWidget == null || textWidget.isDisposed()) {
+			return false;
+		}
+		int lastLine= fDocument.getNumberOfLines() - 1;
+		int topLine= JFaceTextUtil.getPartialTopIndex(fViewer);
+		int bottomLine= JFaceTextUtil.getPartialBottomIndex(fViewer);
+		topLine= topLine < 0 ? 0 : Math.min(topLine, lastLine);
+		bottomLine= bottomLine < 0 ? lastLine : Math.min(bottomLine, lastLine);
+		try {
+			int offset= fDocument.getLineOffset(topLine);
+			IRegion bottom= fDocument.getLineInformation(bottomLine);
+			return region.getOffset() <= bottom.getOffset() + bottom.getLength() && offset < region.getOffset() + Math.max(region.getLength(), 1);
+		} catch (BadLocationException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the region covering the visible lines whose code minings have not been computed
+	 * since the last update.
+	 *
+	 * @return the line-aligned region, or <code>null</code> if all code minings of the visible lines
+	 *         have been computed
+	 */
+	private IRegion getMissingVisibleRegion() {
+		StyledText textWidget= fViewer.getTextWidget();
+		if (fDocument == null || textWidget == null || textWidget.isDisposed()) {
+			return null;
+		}
+		int lastLine= fDocument.getNumberOfLines() - 1;
+		int topLine= JFaceTextUtil.getPartialTopIndex(fViewer);
+		int bottomLine= JFaceTextUtil.getPartialBottomIndex(fViewer);
+		topLine= topLine < 0 ? 0 : Math.min(topLine, lastLine);
+		bottomLine= bottomLine < 0 ? lastLine : Math.min(bottomLine, lastLine);
+		try {
+			while (topLine <= bottomLine && isComputed(fDocument.getLineOffset(topLine))) {
+				topLine++;
+			}
+			while (bottomLine >= topLine && isComputed(fDocument.getLineOffset(bottomLine))) {
+				bottomLine--;
+			}
+			if (topLine > bottomLine) {
+				return null;
+			}
+			int offset= fDocument.getLineOffset(topLine);
+			IRegion bottom= fDocument.getLineInformation(bottomLine);
+			int end= bottomLine == lastLine ? fDocument.getLength() : fDocument.getLineOffset(bottomLine + 1);
+			return new Region(offset, Math.max(end, bottom.getOffset() + bottom.getLength()) - offset);
+		} catch (BadLocationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns whether the code minings of the line at the given offset have been computed since
+	 * the last update.
+	 *
+	 * @param lineOffset the offset of the line
+	 * @return <code>true</code> if the line is part of a computed region
+	 */
+	private boolean isComputed(int lineOffset) {
+		for (Position region : fComputedRegions) {
+			if (!region.isDeleted() && region.includes(lineOffset)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Replaces the cached code minings of the given region.
+	 *
+	 * @param region the line-aligned region
+	 * @param minings the code minings computed for the region
+	 */
+	private void setRegionMinings(IRegion region, List<? extends ICodeMining> minings) {
+		int documentLength= fDocument.getLength();
+		fRegionMinings.removeIf(mining -> mining.getPosition().isDeleted() || isInRegion(mining, region, documentLength));
+		for (ICodeMining mining : minings) {
+			if (isInRegion(mining, region, documentLength)) {
+				fRegionMinings.add(mining);
+			}
+		}
+		fComputedRegions.add(new Position(region.getOffset(), region.getLength()));
+		updateTrackedPositions();
+	}
+
+	/**
+	 * Returns whether the given code mining starts in the given region.
+	 *
+	 * @param mining the code mining
+	 * @param region the line-aligned region
+	 * @param documentLength the length of the document
+	 * @return <code>true</code> if the code mining starts in the region
+	 */
+	private static boolean isInRegion(ICodeMining mining, IRegion region, int documentLength) {
+		int offset= mining.getPosition().getOffset();
+		int end= region.getOffset() + region.getLength();
+		return offset >= region.getOffset() && (offset < end || end == documentLength && offset == end);
+	}
+
+	/**
+	 * Invalidates the cached code minings of the lines touched by the given document change.
+	 *
+	 * @param event the document event
+	 */
+	private void invalidate(DocumentEvent event) {
+		fModificationCount++;
+		// The result of the request for the visible lines would be discarded
+		if (fVisibleLinesRequest != null) {
+			fVisibleLinesRequest.cancel();
+			fVisibleLinesRequest= null;
+			fVisibleLinesRegion= null;
+		}
+		int offset= event.getOffset();
+		int end= offset + (event.getText() != null ? event.getText().length() : 0);
+		fComputedRegions.removeIf(region -> region.isDeleted() || region.getOffset() <= end && offset <= region.getOffset() + region.getLength());
+		fDocumentMinings.removeIf(mining -> mining.getPosition().isDeleted());
+		fRegionMinings.removeIf(mining -> mining.getPosition().isDeleted());
+		updateTrackedPositions();
+	}
+
+	/**
+	 * Tracks the positions of the cached code minings and of the computed regions in the
+	 * document, so that they are updated when the document changes.
+	 */
+	private void updateTrackedPositions() {
+		if (fDocument == null) {
+			return;
+		}
+		Set<Position> positions= Collections.newSetFromMap(new IdentityHashMap<>());
+		positions.addAll(fComputedRegions);
+		fDocumentMinings.forEach(mining -> positions.add(mining.getPosition()));
+		fRegionMinings.forEach(mining -> positions.add(mining.getPosition()));
+		try {
+			for (Position position : fTrackedPositions) {
+				if (!positions.contains(position)) {
+					fDocument.removePosition(fPositionCategory, position);
+				}
+			}
+			Set<Position> tracked= Collections.newSetFromMap(new IdentityHashMap<>());
+			for (Position position : positions) {
+				if (fTrackedPositions.contains(position)) {
+					tracked.add(position);
+				} else if (!position.isDeleted()) {
+					try {
+						fDocument.addPosition(fPositionCategory, position);
+						tracked.add(position);
+					} catch (BadLocationException e) {
+						// outside of the document, not updated
+					}
+				}
+			}
+			fTrackedPositions= tracked;
+		} catch (BadPositionCategoryException e) {
+			// cannot happen while connected
+		}
+	}
+
+	/**
+	 * Starts caching the code minings of the given document.
+	 *
+	 * @param document the document
+	 */
+	private void connect(IDocument document) {
+		if (fDocument == document) {
+			return;
+		}
+		disconnect();
+		fDocument= document;
+		document.addPositionCategory(fPositionCategory);
+		document.addPositionUpdater(fPositionUpdater);
+		document.addDocumentListener(fDocumentListener);
+	}
+
+	/**
+	 * Discards the cached code minings.
+	 */
+	private void disconnect() {
+		if (fDocument != null) {
+			fDocument.removeDocumentListener(fDocumentListener);
+			fDocument.removePositionUpdater(fPositionUpdater);
+			try {
+				fDocument.removePositionCategory(fPositionCategory);
+			} catch (BadPositionCategoryException e) {
+				// already removed
+			}
+			fDocument= null;
+		}
+		fDocumentMinings= new ArrayList<>();
+		fRegionMinings.clear();
+		fComputedRegions.clear();
+		fTrackedPositions.clear();
 	}
 
 	/**
 	 * Cancel the codemining process.
 	 */
 	private void cancel() {
-		// Cancel the last progress monitor.
-		if (fMonitor != null) {
-			fMonitor.setCanceled(true);
+		// Cancel the last requests.
+		if (fRequest != null) {
+			fRequest.cancel();
+		}
+		if (fVisibleLinesRequest != null) {
+			fVisibleLinesRequest.cancel();
+			fVisibleLinesRequest= null;
+			fVisibleLinesRegion= null;
 		}
 	}
 
@@ -176,24 +652,29 @@ public class CodeMiningManager implements Runnable {
 	}
 
 	/**
-	 * Return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
-	 * for the given <code>viewer</code> by using the given providers.
+	 * Return the {@link CompletableFuture} which provides the list of {@link ICodeMining} of the
+	 * given providers. The futures of the providers are added to the given request.
 	 *
-	 * @param viewer    the text viewer.
 	 * @param providers the CodeMining list providers.
-	 * @param monitor   the progress monitor.
-	 * @return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
-	 *         for the given <code>viewer</code> by using the given providers.
+	 * @param provide   the function returning the future of a provider.
+	 * @param request   the request.
+	 * @return the {@link CompletableFuture} which provides the list of {@link ICodeMining} of the
+	 *         given providers.
 	 */
-	private static CompletableFuture<List<? extends ICodeMining>> getCodeMinings(ITextViewer viewer,
-			List<ICodeMiningProvider> providers, IProgressMonitor monitor) {
+	private static CompletableFuture<List<? extends ICodeMining>> getCodeMinings(List<ICodeMiningProvider> providers,
+			Function<ICodeMiningProvider, CompletableFuture<List<? extends ICodeMining>>> provide, Request request) {
 		List<CompletableFuture<List<? extends ICodeMining>>> com= providers.stream()
-				.map(provider -> provider.provideCodeMinings(viewer, monitor))
+				.map(provide)
 				.filter(c -> c != null)
-				.map(future -> future.exceptionally(e -> {
-					logCodeMiningProviderException(e);
-					return Collections.emptyList();
-				}))
+				.map(future -> {
+					synchronized (request.futures) {
+						request.futures.add(future);
+					}
+					return future.exceptionally(e -> {
+						logCodeMiningProviderException(e);
+						return Collections.emptyList();
+					});
+				})
 				.collect(Collectors.toList());
 		return CompletableFuture.allOf(com.toArray(new CompletableFuture[com.size()])).thenApply(
 				v -> com.stream().map(CompletableFuture::join).filter(Objects::nonNull).flatMap(java.util.Collection::stream).collect(Collectors.toList()));
@@ -226,6 +707,20 @@ public class CodeMiningManager implements Runnable {
 				Collectors.mapping(Function.identity(), Collectors.toList())));
 	}
 
+	/**
+	 * Render the cached code minings.
+	 *
+	 * @param monitor the progress monitor
+	 */
+	private void renderCodeMinings(IProgressMonitor monitor) {
+		List<ICodeMining> minings= new ArrayList<>(fDocumentMinings.size() + fRegionMinings.size());
+		minings.addAll(fDocumentMinings);
+		minings.addAll(fRegionMinings);
+		// group code minings by lines position
+		Map<Position, List<ICodeMining>> groups= groupByLines(minings, fCodeMiningProviders);
+		renderCodeMinings(groups, fViewer, monitor);
+	}
+
 	/**
 	 * Render the codemining grouped by line position.
 	 *
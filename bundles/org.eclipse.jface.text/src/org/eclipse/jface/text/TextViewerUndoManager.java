@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -195,6 +195,9 @@ public class TextViewerUndoManager implements IUndoManager, IUndoManagerExtensio
 	/** The undo level */
 	private int fUndoLevel;
 
+	/** The maximal number of bytes retained by the undo history, or <code>0</code> if unlimited */
+	private long fMemoryLimit;
+
 	/** The document undo manager that is active. */
 	private IDocumentUndoManager fDocumentUndoManager;
 
@@ -309,6 +312,36 @@ public class TextViewerUndoManager implements IUndoManager, IUndoManagerExtensio
 		}
 	}
 
+	/**
+	 * Sets the maximal number of bytes the undo and redo history of the connected document may
+	 * retain. The oldest undoable changes are discarded when the history exceeds this limit.
+	 *
+	 * @param memoryLimit the maximal number of bytes, or <code>0</code> for no limit
+	 * @see DocumentUndoManager#setMemoryLimit(long)
+	 * @since 3.27
+	 */
+	public void setMemoryLimit(long memoryLimit) {
+		fMemoryLimit= Math.max(0, memoryLimit);
+		if (isConnected() && fDocumentUndoManager instanceof DocumentUndoManager) {
+			((DocumentUndoManager) fDocumentUndoManager).setMemoryLimit(fMemoryLimit);
+		}
+	}
+
+	/**
+	 * Returns the estimated number of bytes retained by the undo and redo history of the connected
+	 * document.
+	 *
+	 * @return the estimated memory usage of the undo history, or <code>0</code> if not connected
+	 * @see DocumentUndoManager#getMemoryUsage()
+	 * @since 3.27
+	 */
+	public long getMemoryUsage() {
+		if (isConnected() && fDocumentUndoManager instanceof DocumentUndoManager) {
+			return ((DocumentUndoManager) fDocumentUndoManager).getMemoryUsage();
+		}
+		return 0;
+	}
+
 	@Override
 	public void connect(ITextViewer textViewer) {
 		if (fTextViewer == null && textViewer != null) {
@@ -404,6 +437,9 @@ public class TextViewerUndoManager implements IUndoManager, IUndoManagerExtensio
 			fDocumentUndoManager= DocumentUndoManagerRegistry.getDocumentUndoManager(fDocument);
 			fDocumentUndoManager.connect(this);
 			setMaximalUndoLevel(fUndoLevel);
+			if (fMemoryLimit > 0) {
+				setMemoryLimit(fMemoryLimit);
+			}
 			fDocumentUndoListener= new DocumentUndoListener();
 			fDocumentUndoManager.addDocumentUndoListener(fDocumentUndoListener);
 		}
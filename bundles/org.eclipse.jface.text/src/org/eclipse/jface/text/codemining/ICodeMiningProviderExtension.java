@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.codemining;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextViewer;
+
+/**
+ * Extension interface for {@link ICodeMiningProvider}.
+ * <p>
+ * Adds the ability to compute the code minings of a region of the document. The viewer
+ * first asks for the code minings of the visible lines and asks for the code minings of
+ * other lines only once they are scrolled into view. Code minings computed for a region
+ * are reused until the region is edited or the code minings are updated.
+ * </p>
+ *
+ * @see ICodeMiningProvider
+ * @since 3.27
+ */
+public interface ICodeMiningProviderExtension {
+
+	/**
+	 * Compute the list of code minings {@link ICodeMining} whose position starts in the given
+	 * region. The region always covers complete lines. Code minings outside of the region are
+	 * ignored.
+	 *
+	 * @param viewer the viewer in which the command was invoked.
+	 * @param region the region of the document to compute the code minings for.
+	 * @param monitor A progress monitor.
+	 * @return A future of the code minings of the region. The lack of a result can be signaled by
+	 *         returning null, or an empty array.
+	 * @see ICodeMiningProvider#provideCodeMinings(ITextViewer, IProgressMonitor)
+	 */
+	CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor);
+}
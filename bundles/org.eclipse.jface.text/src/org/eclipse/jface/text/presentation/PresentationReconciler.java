@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,14 @@
 
 package org.eclipse.jface.text.presentation;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -40,6 +43,7 @@ import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension5;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.TextPresentation;
@@ -52,9 +56,12 @@ import org.eclipse.jface.text.TypedPosition;
  * Standard implementation of <code>IPresentationReconciler</code>. This
  * implementation assumes that the tasks performed by its presentation damagers
  * and repairers are lightweight and of low cost. This presentation reconciler
- * runs in the UI thread and always repairs the complete damage caused by a
- * document change rather than just the portion overlapping with the viewer's
- * viewport.
+ * runs in the UI thread and by default always repairs the complete damage
+ * caused by a document change rather than just the portion overlapping with the
+ * viewer's viewport. When asynchronous repair is enabled, only the portion of a
+ * large damage overlapping with the viewport is repaired immediately, the rest
+ * is repaired chunk by chunk once the UI thread is idle (see
+ * {@link #setAsynchronousRepair(boolean)}).
  * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
@@ -85,6 +92,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 			if (oldDocument != null) {
 				try {
 
+					clearPendingDamage(oldDocument);
 					fViewer.removeTextListener(this);
 					oldDocument.removeDocumentListener(this);
 					oldDocument.removeDocumentPartitioningListener(this);
@@ -250,6 +258,12 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	private ITextViewer fViewer;
 	/** The internal listener. */
 	private InternalListener fInternalListener= new InternalListener();
+	/**
+	 * The number of characters repaired at once when repairing damage asynchronously.
+	 * @since 3.27
+	 */
+	private static final int ASYNC_REPAIR_CHUNK_SIZE= 20000;
+
 	/** The name of the position category to track damage regions. */
 	private String fPositionCategory;
 	/** The position updated for the damage regions' position category. */
@@ -265,6 +279,21 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 * @since 3.0
 	 */
 	private String fPartitioning;
+	/**
+	 * Flag indicating whether damage outside of the viewport is repaired asynchronously.
+	 * @since 3.27
+	 */
+	private boolean fAsynchronousRepair= false;
+	/**
+	 * The positions of the damage which has not been repaired yet.
+	 * @since 3.27
+	 */
+	private final List<Position> fPendingDamage= new ArrayList<>();
+	/**
+	 * Flag indicating whether a repair of the pending damage is scheduled.
+	 * @since 3.27
+	 */
+	private boolean fPendingRepairScheduled= false;
 
 	/**
 	 * Creates a new presentation reconciler. There are no damagers or repairers
@@ -289,6 +318,36 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		fPartitioning= partitioning;
 	}
 
+	/**
+	 * Sets whether damage is repaired asynchronously. If enabled, only the part
+	 * of a large damage that overlaps with the viewer's viewport is repaired
+	 * immediately. The remaining damage is tracked in the document and repaired
+	 * chunk by chunk in the UI thread whenever it is idle, the damage in the
+	 * viewport first. This keeps opening large documents and pasting large
+	 * amounts of text responsive. The presentation damagers and repairers are
+	 * still called in the UI thread only.
+	 * <p>
+	 * Asynchronous repair is disabled by default.
+	 * </p>
+	 *
+	 * @param asynchronous <code>true</code> to repair damage asynchronously
+	 * @since 3.27
+	 */
+	public void setAsynchronousRepair(boolean asynchronous) {
+		fAsynchronousRepair= asynchronous;
+	}
+
+	/**
+	 * Returns whether damage is repaired asynchronously.
+	 *
+	 * @return <code>true</code> if damage is repaired asynchronously
+	 * @see #setAsynchronousRepair(boolean)
+	 * @since 3.27
+	 */
+	public boolean isAsynchronousRepair() {
+		return fAsynchronousRepair;
+	}
+
 	/*
 	 * @see org.eclipse.jface.text.presentation.IPresentationReconcilerExtension#geDocumenttPartitioning()
 	 * @since 3.0
@@ -546,9 +605,220 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 */
 	private void processDamage(IRegion damage, IDocument document) {
 		if (damage != null && damage.getLength() > 0) {
-			TextPresentation p= createPresentation(damage, document);
-			if (p != null)
-				applyTextRegionCollection(p);
+			if (fAsynchronousRepair && damage.getLength() > ASYNC_REPAIR_CHUNK_SIZE && processDamageAsynchronously(damage, document))
+				return;
+			repairDamage(damage, document);
+		}
+	}
+
+	/**
+	 * Repairs the given damage.
+	 *
+	 * @param damage the damage to be repaired
+	 * @param document the document whose presentation must be repaired
+	 * @since 3.27
+	 */
+	private void repairDamage(IRegion damage, IDocument document) {
+		TextPresentation p= createPresentation(damage, document);
+		if (p != null)
+			applyTextRegionCollection(p);
+	}
+
+	/**
+	 * Repairs the part of the given damage which overlaps with the viewer's
+	 * viewport and schedules the repair of the rest.
+	 *
+	 * @param damage the damage to be repaired
+	 * @param document the document whose presentation must be repaired
+	 * @return <code>false</code> if the damage can't be repaired asynchronously
+	 * @since 3.27
+	 */
+	private boolean processDamageAsynchronously(IRegion damage, IDocument document) {
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed())
+			return false;
+
+		int start= damage.getOffset();
+		int end= start + damage.getLength();
+		IRegion visible= getVisibleLines(document);
+		if (visible != null) {
+			int visibleStart= Math.max(start, visible.getOffset());
+			int visibleEnd= Math.min(end, visible.getOffset() + visible.getLength());
+			if (visibleStart < visibleEnd) {
+				repairDamage(new Region(visibleStart, visibleEnd - visibleStart), document);
+				addPendingDamage(start, visibleStart - start, document);
+				addPendingDamage(visibleEnd, end - visibleEnd, document);
+				schedulePendingRepair();
+				return true;
+			}
+		}
+		addPendingDamage(start, end - start, document);
+		schedulePendingRepair();
+		return true;
+	}
+
+	/**
+	 * Remembers the given range as damaged. The range is merged with the
+	 * overlapping or adjacent pending damage.
+	 *
+	 * @param offset the offset of the damage
+	 * @param length the length of the damage
+	 * @param document the document
+	 * @since 3.27
+	 */
+	private void addPendingDamage(int offset, int length, IDocument document) {
+		if (length <= 0)
+			return;
+
+		int start= offset;
+		int end= offset + length;
+		try {
+			for (Iterator<Position> e= fPendingDamage.iterator(); e.hasNext();) {
+				Position position= e.next();
+				boolean merge= !position.isDeleted() && position.getOffset() <= end && start <= position.getOffset() + position.getLength();
+				if (merge) {
+					start= Math.min(start, position.getOffset());
+					end= Math.max(end, position.getOffset() + position.getLength());
+				}
+				if (merge || position.isDeleted()) {
+					document.removePosition(fPositionCategory, position);
+					e.remove();
+				}
+			}
+			Position damage= new Position(start, end - start);
+			document.addPosition(fPositionCategory, damage);
+			fPendingDamage.add(damage);
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// should not happen for damage of the input document
+			repairDamage(new Region(start, end - start), document);
+		}
+	}
+
+	/**
+	 * Forgets about all pending damage.
+	 *
+	 * @param document the document the damage has been tracked in, may be <code>null</code>
+	 * @since 3.27
+	 */
+	private void clearPendingDamage(IDocument document) {
+		if (document != null) {
+			for (Position position : fPendingDamage) {
+				try {
+					document.removePosition(fPositionCategory, position);
+				} catch (BadPositionCategoryException x) {
+					// the category is removed anyway
+				}
+			}
+		}
+		fPendingDamage.clear();
+	}
+
+	/**
+	 * Schedules the repair of the next chunk of the pending damage, unless it
+	 * is already scheduled.
+	 *
+	 * @since 3.27
+	 */
+	private void schedulePendingRepair() {
+		if (fPendingRepairScheduled || fPendingDamage.isEmpty())
+			return;
+
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed())
+			return;
+
+		fPendingRepairScheduled= true;
+		textWidget.getDisplay().asyncExec(this::repairPendingDamage);
+	}
+
+	/**
+	 * Repairs the next chunk of the pending damage. The damage overlapping with
+	 * the viewer's viewport is repaired first.
+	 *
+	 * @since 3.27
+	 */
+	private void repairPendingDamage() {
+		fPendingRepairScheduled= false;
+		IDocument document= fViewer == null ? null : fViewer.getDocument();
+		if (document == null || fPendingDamage.isEmpty())
+			return;
+
+		// once redraw is enabled again the whole document is damaged anyway
+		if (!fInternalListener.fCachedRedrawState)
+			return;
+
+		try {
+			for (Iterator<Position> e= fPendingDamage.iterator(); e.hasNext();) {
+				Position position= e.next();
+				if (position.isDeleted()) {
+					document.removePosition(fPositionCategory, position);
+					e.remove();
+				}
+			}
+			if (fPendingDamage.isEmpty())
+				return;
+
+			Position position= fPendingDamage.get(0);
+			int start= position.getOffset();
+			IRegion visible= getVisibleLines(document);
+			if (visible != null) {
+				for (Position candidate : fPendingDamage) {
+					if (candidate.overlapsWith(visible.getOffset(), visible.getLength())) {
+						position= candidate;
+						start= Math.max(candidate.getOffset(), visible.getOffset());
+						break;
+					}
+				}
+			}
+
+			int end= position.getOffset() + position.getLength();
+			int chunkEnd= end;
+			if (end - start > ASYNC_REPAIR_CHUNK_SIZE) {
+				int line= document.getLineOfOffset(start + ASYNC_REPAIR_CHUNK_SIZE);
+				chunkEnd= Math.min(end, document.getLineOffset(line) + document.getLineLength(line));
+			}
+
+			int positionStart= position.getOffset();
+			if (chunkEnd < end) {
+				position.setOffset(chunkEnd);
+				position.setLength(end - chunkEnd);
+			} else {
+				document.removePosition(fPositionCategory, position);
+				fPendingDamage.remove(position);
+			}
+			addPendingDamage(positionStart, start - positionStart, document);
+
+			repairDamage(new Region(start, chunkEnd - start), document);
+
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// the pending damage doesn't fit the document anymore, repair everything
+			clearPendingDamage(document);
+			repairDamage(new Region(0, document.getLength()), document);
+		}
+
+		schedulePendingRepair();
+	}
+
+	/**
+	 * Returns the range of the lines shown in the viewer's viewport.
+	 *
+	 * @param document the document
+	 * @return the range of the visible lines or <code>null</code> if it can't be determined
+	 * @since 3.27
+	 */
+	private IRegion getVisibleLines(IDocument document) {
+		int top= fViewer.getTopIndexStartOffset();
+		int bottom= fViewer.getBottomIndexEndOffset();
+		if (top < 0 || bottom < top)
+			return null;
+
+		try {
+			int offset= document.getLineOffset(document.getLineOfOffset(top));
+			int bottomLine= document.getLineOfOffset(bottom);
+			int end= document.getLineOffset(bottomLine) + document.getLineLength(bottomLine);
+			return new Region(offset, end - offset);
+		} catch (BadLocationException x) {
+			return null;
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,16 @@
  *******************************************************************************/
 package org.eclipse.jface.text.reconciler;
 
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.events.FocusEvent;
+import org.eclipse.swt.events.FocusListener;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
@@ -39,6 +46,11 @@ import org.eclipse.jface.text.ITextViewer;
  * It is the clients responsibility to stop a reconciler using its {@link #uninstall()}
  * method. Unstopped reconcilers do not free their resources.
  * <p>
+ * By default, each reconciler runs in its own thread. A reconciler can instead
+ * be told to run in the pool of worker threads shared by all jobs, see
+ * {@link #setRunInSharedPool(boolean)}.
+ * </p>
+ * <p>
  * It is subclass responsibility to specify how dirty regions are processed.
  * </p>
  *
@@ -51,7 +63,9 @@ abstract public class AbstractReconciler implements IReconciler {
 
 
 	/**
-	 * Background thread for the reconciling activity.
+	 * Background thread for the reconciling activity. If the reconciler runs in
+	 * the shared pool, the thread is never started and the reconciling activity
+	 * is run step by step by a job instead.
 	 */
 	class BackgroundThread extends Thread {
 
@@ -63,6 +77,27 @@ abstract public class AbstractReconciler implements IReconciler {
 		private boolean fIsDirty= false;
 		/** Is a reconciling strategy active. */
 		private boolean fIsActive= false;
+		/**
+		 * The job running the reconciling activity in the shared pool, or
+		 * <code>null</code> if this thread runs it.
+		 * @since 3.27
+		 */
+		private final Job fJob;
+		/**
+		 * Has the job been started.
+		 * @since 3.27
+		 */
+		private volatile boolean fJobStarted= false;
+		/**
+		 * Has the job done the initial processing.
+		 * @since 3.27
+		 */
+		private boolean fInitialProcessDone= false;
+		/**
+		 * The time before which the job must not process changes.
+		 * @since 3.27
+		 */
+		private volatile long fJobDueTime;
 
 		/**
 		 * Creates a new background thread. The thread
@@ -74,6 +109,93 @@ abstract public class AbstractReconciler implements IReconciler {
 			super(name);
 			setPriority(Thread.MIN_PRIORITY);
 			setDaemon(true);
+
+			if (fRunInSharedPool) {
+				fJob= new Job(name) {
+					@Override
+					protected IStatus run(IProgressMonitor monitor) {
+						runStep();
+						return Status.OK_STATUS;
+					}
+				};
+				fJob.setSystem(true);
+				fJob.setPriority(Job.SHORT);
+			} else {
+				fJob= null;
+			}
+		}
+
+		/**
+		 * Returns whether the reconciling activity has been started and not
+		 * finished yet.
+		 *
+		 * @return <code>true</code> if the reconciling activity is running
+		 * @since 3.27
+		 */
+		public boolean isRunning() {
+			if (fJob == null)
+				return isAlive();
+			return fJobStarted && !fCanceled;
+		}
+
+		/**
+		 * Starts the reconciling activity.
+		 *
+		 * @since 3.27
+		 */
+		public void startActivity() {
+			if (fJob == null) {
+				start();
+			} else if (!fJobStarted) {
+				fJobStarted= true;
+				scheduleJob(waitFinish ? 0 : fDelay);
+			}
+		}
+
+		/**
+		 * Tells whether the caller runs the reconciling activity.
+		 *
+		 * @return <code>true</code> if called from the reconciling activity
+		 * @since 3.27
+		 */
+		public boolean isReconcilingThread() {
+			Thread current= Thread.currentThread();
+			return current == this || fJob != null && fJob.getThread() == current;
+		}
+
+		/**
+		 * Sets whether the reconciling activity should be preferred over the
+		 * reconciling of other reconcilers running in the shared pool.
+		 *
+		 * @param preferred <code>true</code> to prefer this reconciler
+		 * @since 3.27
+		 */
+		public void setPreferred(boolean preferred) {
+			if (fJob != null)
+				fJob.setPriority(preferred ? Job.INTERACTIVE : Job.SHORT);
+		}
+
+		/**
+		 * Makes the job process the changes without waiting for further
+		 * changes.
+		 *
+		 * @since 3.27
+		 */
+		public void wakeUp() {
+			if (fJob != null && fJobStarted)
+				fJob.wakeUp();
+		}
+
+		/**
+		 * Schedules the job to process the changes after the given delay.
+		 *
+		 * @param delay the delay in milliseconds
+		 * @since 3.27
+		 */
+		private void scheduleJob(long delay) {
+			fJobDueTime= System.currentTimeMillis() + delay;
+			// has no effect if the job is already waiting, it will then reschedule itself
+			fJob.schedule(delay);
 		}
 
 		/**
@@ -103,6 +225,8 @@ abstract public class AbstractReconciler implements IReconciler {
 			IProgressMonitor pm= fProgressMonitor;
 			if (pm != null)
 				pm.setCanceled(true);
+			if (fJob != null)
+				fJob.cancel();
 			synchronized (fDirtyRegionQueue) {
 				fDirtyRegionQueue.notifyAll();
 			}
@@ -133,6 +257,19 @@ abstract public class AbstractReconciler implements IReconciler {
 		 */
 		public void reset() {
 
+			if (fJob != null) {
+
+				synchronized (this) {
+					fIsDirty= true;
+				}
+				informNotFinished();
+				reconcilerReset();
+				// the job is scheduled once the hooks have been called
+				if (fJobStarted)
+					scheduleJob(waitFinish ? 0 : fDelay);
+				return;
+			}
+
 			if (fDelay > 0) {
 
 				synchronized (this) {
@@ -183,40 +320,84 @@ abstract public class AbstractReconciler implements IReconciler {
 				if (fCanceled)
 					break;
 
-				if (!isDirty()) {
-					waitFinish= false; //signalWaitForFinish() was called but nothing todo
-					continue;
-				}
+				processNextDirtyRegion();
+			}
+		}
 
-				synchronized (this) {
-					if (fReset) {
-						fReset= false;
-						continue;
-					}
-				}
+		/**
+		 * Processes the next dirty region, unless there are no changes or
+		 * the changes have been reset.
+		 *
+		 * @since 3.27
+		 */
+		private void processNextDirtyRegion() {
+			if (!isDirty()) {
+				waitFinish= false; //signalWaitForFinish() was called but nothing todo
+				return;
+			}
 
-				DirtyRegion r= null;
-				synchronized (fDirtyRegionQueue) {
-					r= fDirtyRegionQueue.removeNextDirtyRegion();
+			synchronized (this) {
+				if (fReset) {
+					fReset= false;
+					return;
 				}
+			}
 
-				fIsActive= true;
+			DirtyRegion r= null;
+			synchronized (fDirtyRegionQueue) {
+				r= fDirtyRegionQueue.removeNextDirtyRegion();
+			}
 
-				fProgressMonitor.setCanceled(false);
+			fIsActive= true;
 
-				process(r);
+			fProgressMonitor.setCanceled(false);
 
-				synchronized (fDirtyRegionQueue) {
-					if (0 == fDirtyRegionQueue.getSize()) {
-						synchronized (this) {
-							fIsDirty= fProgressMonitor.isCanceled();
-						}
-						fDirtyRegionQueue.notifyAll();
+			process(r);
+
+			synchronized (fDirtyRegionQueue) {
+				if (0 == fDirtyRegionQueue.getSize()) {
+					synchronized (this) {
+						fIsDirty= fProgressMonitor.isCanceled();
 					}
+					fDirtyRegionQueue.notifyAll();
 				}
+			}
 
-				fIsActive= false;
+			fIsActive= false;
+		}
+
+		/**
+		 * Runs one step of the reconciling activity in the job. This is the
+		 * equivalent of one iteration of {@link #run()}, the delays being the
+		 * delays the job is scheduled with.
+		 *
+		 * @since 3.27
+		 */
+		private void runStep() {
+			if (fCanceled)
+				return;
+
+			long remaining= fJobDueTime - System.currentTimeMillis();
+			if (remaining > 0 && !waitFinish) {
+				// changes arrived since the job has been scheduled
+				fJob.schedule(remaining);
+				return;
 			}
+
+			if (!fInitialProcessDone) {
+				fInitialProcessDone= true;
+				initialProcess();
+			} else {
+				processNextDirtyRegion();
+			}
+
+			if (fCanceled)
+				return;
+
+			if (isDirty())
+				scheduleJob(waitFinish ? 0 : fDelay);
+			else
+				waitFinish= false;
 		}
 	}
 
@@ -232,8 +413,8 @@ abstract public class AbstractReconciler implements IReconciler {
 		@Override
 		public void documentChanged(DocumentEvent e) {
 
-			if (fThread.isActive() || !fThread.isDirty() && fThread.isAlive()) {
-				if (!fIsAllowedToModifyDocument && Thread.currentThread() == fThread)
+			if (fThread.isActive() || !fThread.isDirty() && fThread.isRunning()) {
+				if (!fIsAllowedToModifyDocument && fThread.isReconcilingThread())
 					throw new UnsupportedOperationException("The reconciler thread is not allowed to modify the document"); //$NON-NLS-1$
 				aboutToBeReconciledInternal();
 			}
@@ -242,7 +423,7 @@ abstract public class AbstractReconciler implements IReconciler {
 			 * The second OR condition handles the case when the document
 			 * gets changed while still inside initialProcess().
 			 */
-			if (fThread.isActive() || fThread.isDirty() && fThread.isAlive())
+			if (fThread.isActive() || fThread.isDirty() && fThread.isRunning())
 				fProgressMonitor.setCanceled(true);
 
 			if (fIsIncrementalReconciler)
@@ -264,7 +445,7 @@ abstract public class AbstractReconciler implements IReconciler {
 					synchronized (fDirtyRegionQueue) {
 						fDirtyRegionQueue.purgeQueue();
 					}
-					if (fDocument != null && fDocument.getLength() > 0 && fThread.isDirty() && fThread.isAlive()) {
+					if (fDocument != null && fDocument.getLength() > 0 && fThread.isDirty() && fThread.isRunning()) {
 						DocumentEvent e= new DocumentEvent(fDocument, 0, fDocument.getLength(), ""); //$NON-NLS-1$
 						createDirtyRegion(e);
 						fThread.reset();
@@ -301,6 +482,11 @@ abstract public class AbstractReconciler implements IReconciler {
 	private BackgroundThread fThread;
 	/** Internal document and text input listener. */
 	private Listener fListener;
+	/**
+	 * Tells the background activity whether the text viewer has the focus.
+	 * @since 3.27
+	 */
+	private FocusListener fFocusListener;
 	/** The background thread delay. */
 	private int fDelay= 500;
 	/** Signal that the the background thread should not delay. */
@@ -314,6 +500,11 @@ abstract public class AbstractReconciler implements IReconciler {
 	 * @since 3.2
 	 */
 	private boolean fIsAllowedToModifyDocument= true;
+	/**
+	 * Tells whether this reconciler runs in the pool of worker threads shared by all jobs.
+	 * @since 3.27
+	 */
+	private boolean fRunInSharedPool= Boolean.getBoolean("org.eclipse.jface.text.reconciler.runInSharedPool"); //$NON-NLS-1$
 
 
 	/** The text viewer's document. */
@@ -391,6 +582,27 @@ abstract public class AbstractReconciler implements IReconciler {
 		fIsAllowedToModifyDocument= isAllowedToModify;
 	}
 
+	/**
+	 * Tells the reconciler whether to run in the pool of worker threads shared
+	 * by all jobs instead of its own thread. Many reconcilers, e.g. one per open
+	 * editor, then don't need a thread each while they are idle. The changes are
+	 * collected and processed as when running in an own thread. While the text
+	 * viewer has the focus, the reconciler is preferred over other reconcilers
+	 * waiting for a worker thread.
+	 * <p>
+	 * This must be called before the reconciler is installed. The default is
+	 * <code>false</code>, unless the system property
+	 * <code>org.eclipse.jface.text.reconciler.runInSharedPool</code> is set to
+	 * <code>true</code>.
+	 * </p>
+	 *
+	 * @param runInSharedPool <code>true</code> to run in the shared pool of worker threads
+	 * @since 3.27
+	 */
+	public void setRunInSharedPool(boolean runInSharedPool) {
+		fRunInSharedPool= runInSharedPool;
+	}
+
 	/**
 	 * Sets the progress monitor of this reconciler.
 	 *
@@ -457,6 +669,24 @@ abstract public class AbstractReconciler implements IReconciler {
 		fListener= new Listener();
 		fViewer.addTextInputListener(fListener);
 
+		StyledText textWidget= fViewer.getTextWidget();
+		if (fRunInSharedPool && textWidget != null && !textWidget.isDisposed()) {
+			BackgroundThread thread= fThread;
+			fFocusListener= new FocusListener() {
+				@Override
+				public void focusGained(FocusEvent e) {
+					thread.setPreferred(true);
+				}
+
+				@Override
+				public void focusLost(FocusEvent e) {
+					thread.setPreferred(false);
+				}
+			};
+			textWidget.addFocusListener(fFocusListener);
+			thread.setPreferred(textWidget.isFocusControl());
+		}
+
 		// see bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=67046
 		// if the reconciler gets installed on a viewer that already has a document
 		// (e.g. when reusing editors), we force the listener to register
@@ -475,6 +705,10 @@ abstract public class AbstractReconciler implements IReconciler {
 		if (fListener != null) {
 
 			fViewer.removeTextInputListener(fListener);
+			StyledText textWidget= fViewer.getTextWidget();
+			if (fFocusListener != null && textWidget != null && !textWidget.isDisposed())
+				textWidget.removeFocusListener(fFocusListener);
+			fFocusListener= null;
 			if (fDocument != null) {
 				fListener.inputDocumentAboutToBeChanged(fDocument, null);
 				fListener.inputDocumentChanged(fDocument, null);
@@ -550,6 +784,9 @@ abstract public class AbstractReconciler implements IReconciler {
 			waitFinish= true;
 			fDirtyRegionQueue.notifyAll(); // notify AbstractReconciler#delay about waitFinish
 		}
+		BackgroundThread thread= fThread;
+		if (thread != null)
+			thread.wakeUp();
 	}
 
 	private void informNotFinished() {
@@ -590,7 +827,7 @@ abstract public class AbstractReconciler implements IReconciler {
 
 		if (fDocument != null) {
 
-			if (!fThread.isDirty()&& fThread.isAlive())
+			if (!fThread.isDirty()&& fThread.isRunning())
 				aboutToBeReconciledInternal();
 
 			if (fThread.isActive())
@@ -613,9 +850,9 @@ abstract public class AbstractReconciler implements IReconciler {
 		if (fThread == null)
 			return;
 
-		if (!fThread.isAlive()) {
+		if (!fThread.isRunning()) {
 			try {
-				fThread.start();
+				fThread.startActivity();
 			} catch (IllegalThreadStateException e) {
 				// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=40549
 				// This is the only instance where the thread is started; since
@@ -641,6 +878,7 @@ abstract public class AbstractReconciler implements IReconciler {
 	 * @since 3.4
 	 */
 	protected boolean isRunningInReconcilerThread() {
-		return Thread.currentThread() == fThread;
+		BackgroundThread thread= fThread;
+		return thread != null && thread.isReconcilingThread();
 	}
 }
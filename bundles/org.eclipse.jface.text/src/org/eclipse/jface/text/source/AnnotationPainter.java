@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,16 +14,16 @@
  *******************************************************************************/
 package org.eclipse.jface.text.source;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -317,6 +317,14 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 	 */
 	private static final Object HIGHLIGHTING= new Object();
 
+	/**
+	 * The number of decorations above which the decorations to paint are looked up by querying the
+	 * annotation model for the annotations in the paint region.
+	 *
+	 * @since 3.27
+	 */
+	private static final int REGION_QUERY_THRESHOLD= 256;
+
 	/**
 	 * The presentation information (decoration) for an annotation.  Each such
 	 * object represents one decoration drawn on the text area, such as squiggly lines
@@ -555,23 +563,62 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		IRegion clippingRegion= computeClippingRegion(null, true);
 		IDocument document= fSourceViewer.getDocument();
 
+		if (event == null || event.isWorldChange()) {
+			/*
+			 * Compute the decorations of the whole model into new maps without holding the locks,
+			 * so that painting is not blocked meanwhile, and swap them in afterwards.
+			 */
+			Map<Annotation, Decoration> decorationsMap= new HashMap<>();
+			Map<Annotation, Decoration> highlightedDecorationsMap= new HashMap<>();
+			updateDecorations(event, decorationsMap, highlightedDecorationsMap, clippingRegion, document);
+
+			Map<Annotation, Decoration> oldDecorationsMap;
+			synchronized (fDecorationMapLock) {
+				synchronized (fHighlightedDecorationsMapLock) {
+					if (fDecorationsMap == null || fHighlightedDecorationsMap == null)
+						return;
+					oldDecorationsMap= fDecorationsMap;
+					fDecorationsMap= decorationsMap;
+					fHighlightedDecorationsMap= highlightedDecorationsMap;
+				}
+			}
+
+			for (Entry<Annotation, Decoration> entry : oldDecorationsMap.entrySet())
+				drawDecoration(entry.getValue(), null, entry.getKey(), clippingRegion, document);
+			return;
+		}
+
+		/*
+		 * Update the decoration maps in place instead of cloning them: an event usually only
+		 * touches a few annotations, while the maps may hold many thousands of entries.
+		 */
+		synchronized (fDecorationMapLock) {
+			synchronized (fHighlightedDecorationsMapLock) {
+				if (fDecorationsMap != null && fHighlightedDecorationsMap != null)
+					updateDecorations(event, fDecorationsMap, fHighlightedDecorationsMap, clippingRegion, document);
+			}
+		}
+	}
+
+	/**
+	 * Updates the given decoration maps based on the given annotation model event. For a world
+	 * change, the maps must be new and empty, and they are filled with the decorations of the whole
+	 * model. Otherwise they must be the painter's maps, and this must be called while holding both
+	 * the decoration map lock and the highlighted decorations map lock.
+	 *
+	 * @param event the annotation model event or <code>null</code>
+	 * @param decorationsMap the decorations map to update
+	 * @param highlightedDecorationsMap the highlighted decorations map to update
+	 * @param clippingRegion the clipping region used to clear removed decorations
+	 * @param document the document
+	 */
+	private void updateDecorations(AnnotationModelEvent event, Map<Annotation, Decoration> decorationsMap, Map<Annotation, Decoration> highlightedDecorationsMap, IRegion clippingRegion, IDocument document) {
 		int highlightAnnotationRangeStart= Integer.MAX_VALUE;
 		int highlightAnnotationRangeEnd= -1;
 
 		int drawRangeStart= Integer.MAX_VALUE;
 		int drawRangeEnd= -1;
 
-		Map<Annotation, Decoration> decorationsMap;
-		Map<Annotation, Decoration> highlightedDecorationsMap;
-
-		// Clone decoration maps
-		synchronized (fDecorationMapLock) {
-			decorationsMap= new HashMap<>(fDecorationsMap);
-		}
-		synchronized (fHighlightedDecorationsMapLock) {
-			highlightedDecorationsMap= new HashMap<>(fHighlightedDecorationsMap);
-		}
-
 		boolean isWorldChange= false;
 
 		Iterator<Annotation> e;
@@ -581,21 +628,8 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			if (DEBUG && event == null)
 				System.out.println("AP: INTERNAL CHANGE"); //$NON-NLS-1$
 
-			Iterator<Entry<Annotation, Decoration>> iter= decorationsMap.entrySet().iterator();
-			while (iter.hasNext()) {
-				Entry<Annotation, Decoration> entry= iter.next();
-				Annotation annotation= entry.getKey();
-				Decoration decoration= entry.getValue();
-				drawDecoration(decoration, null, annotation, clippingRegion, document);
-			}
-
-			decorationsMap.clear();
-
-			highlightedDecorationsMap.clear();
-
 			e= fModel.getAnnotationIterator();
 
-
 		} else {
 
 			// Remove annotations
@@ -706,15 +740,8 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			}
 		}
 
-		synchronized (fDecorationMapLock) {
-			fDecorationsMap= decorationsMap;
-			updateDrawRanges(drawRangeStart, drawRangeEnd, isWorldChange);
-		}
-
-		synchronized (fHighlightedDecorationsMapLock) {
-			fHighlightedDecorationsMap= highlightedDecorationsMap;
-			updateHighlightRanges(highlightAnnotationRangeStart, highlightAnnotationRangeEnd, isWorldChange);
-		}
+		updateDrawRanges(drawRangeStart, drawRangeEnd, isWorldChange);
+		updateHighlightRanges(highlightAnnotationRangeStart, highlightAnnotationRangeEnd, isWorldChange);
 	}
 
 	/**
@@ -982,17 +1009,22 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 	@Override
 	public void applyTextPresentation(TextPresentation tp) {
-		Set<Entry<Annotation, Decoration>> decorations;
+		IRegion region= tp.getExtent();
+		List<Entry<Annotation, Decoration>> decorations= new ArrayList<>();
 
 		synchronized (fHighlightedDecorationsMapLock) {
 			if (fHighlightedDecorationsMap == null || fHighlightedDecorationsMap.isEmpty())
 				return;
 
-			decorations= new HashSet<>(fHighlightedDecorationsMap.entrySet());
+			// only remember the decorations that can contribute to the presentation's extent
+			int regionEnd= region.getOffset() + region.getLength();
+			for (Entry<Annotation, Decoration> entry : fHighlightedDecorationsMap.entrySet()) {
+				Position p= entry.getValue().fPosition;
+				if (p.getOffset() + p.getLength() >= region.getOffset() && regionEnd > p.getOffset())
+					decorations.add(new SimpleImmutableEntry<>(entry));
+			}
 		}
 
-		IRegion region= tp.getExtent();
-
 		if (DEBUG)
 			System.out.println("AP: applying text presentation offset: " + region.getOffset() + ", length= " + region.getLength()); //$NON-NLS-1$ //$NON-NLS-2$
 
@@ -1362,12 +1394,7 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 		final GC gc= event != null ? event.gc : null;
 
-		// Clone decorations
-		Collection<Entry<Annotation, Decoration>> decorations;
-		synchronized (fDecorationMapLock) {
-			decorations= new ArrayList<>(fDecorationsMap.size());
-			decorations.addAll(fDecorationsMap.entrySet());
-		}
+		Collection<Entry<Annotation, Decoration>> decorations= getDecorationsInRegion(vOffset, vLength);
 
 		/*
 		 * Create a new list of annotations to be drawn, since removing from decorations is more
@@ -1377,8 +1404,8 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		for (Entry<Annotation, Decoration> entry : decorations) {
 			Annotation a= entry.getKey();
 			Decoration pp = entry.getValue();
-			// prune any annotation that is not drawable or does not need drawing
-			if (!(a.isMarkedDeleted() || skip(a) || !regionsTouchOrOverlap(pp.fPosition.getOffset(), pp.fPosition.getLength(), vOffset, vLength))) {
+			// prune any annotation that is not drawable
+			if (!(a.isMarkedDeleted() || skip(a))) {
 				// ensure sized appropriately
 				for (int i= toBeDrawn.size(); i <= pp.fLayer; i++)
 					toBeDrawn.add(new LinkedList<>());
@@ -1395,6 +1422,55 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		}
 	}
 
+	/**
+	 * Returns the decorations whose positions touch or overlap the given region.
+	 * <p>
+	 * If there are many decorations and the annotation model supports region queries, only the
+	 * annotations of the model that overlap the region are looked up in the decorations map, so
+	 * that painting the viewport does not visit every decoration of the document.
+	 * </p>
+	 *
+	 * @param offset the offset of the region
+	 * @param length the length of the region
+	 * @return the decorations in the region
+	 */
+	private Collection<Entry<Annotation, Decoration>> getDecorationsInRegion(int offset, int length) {
+		IAnnotationModel model= fModel;
+		boolean useModelQuery;
+		synchronized (fDecorationMapLock) {
+			useModelQuery= model instanceof IAnnotationModelExtension2 && fDecorationsMap.size() > REGION_QUERY_THRESHOLD;
+		}
+
+		List<Annotation> candidates= null;
+		if (useModelQuery) {
+			// widen the region by one so that annotations touching the region are reported as well
+			int queryOffset= Math.max(0, offset - 1);
+			int queryLength= offset + length + 1 - queryOffset;
+			candidates= new ArrayList<>();
+			Iterator<Annotation> iter= ((IAnnotationModelExtension2) model).getAnnotationIterator(queryOffset, queryLength, true, true);
+			while (iter.hasNext())
+				candidates.add(iter.next());
+		}
+
+		List<Entry<Annotation, Decoration>> decorations= new ArrayList<>();
+		synchronized (fDecorationMapLock) {
+			if (candidates != null) {
+				for (Annotation annotation : candidates) {
+					Decoration pp= fDecorationsMap.get(annotation);
+					if (pp != null && regionsTouchOrOverlap(pp.fPosition.getOffset(), pp.fPosition.getLength(), offset, length))
+						decorations.add(new SimpleImmutableEntry<>(annotation, pp));
+				}
+			} else {
+				for (Entry<Annotation, Decoration> entry : fDecorationsMap.entrySet()) {
+					Position p= entry.getValue().fPosition;
+					if (regionsTouchOrOverlap(p.getOffset(), p.getLength(), offset, length))
+						decorations.add(new SimpleImmutableEntry<>(entry));
+				}
+			}
+		}
+		return decorations;
+	}
+
 	private void drawDecoration(Decoration pp, GC gc, Annotation annotation, IRegion clippingRegion, IDocument document) {
 		if (clippingRegion == null)
 			return;
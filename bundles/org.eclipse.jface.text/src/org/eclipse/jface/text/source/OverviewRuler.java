@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -81,6 +82,8 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		 */
 		@Override
 		public void textChanged(TextEvent e) {
+			// the lines of the annotations may have changed
+			invalidateRowSummary();
 			if (fTextViewer != null && e.getDocumentEvent() == null && e.getViewerRedrawState()) {
 				// handle only changes of visible document
 				redraw();
@@ -89,46 +92,51 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 
 		@Override
 		public void modelChanged(IAnnotationModel model) {
+			invalidateRowSummary();
 			update();
 		}
 
 		@Override
 		public void modelChanged(AnnotationModelEvent event) {
-			if (!event.isValid())
+			if (!event.isValid()) {
+				// the changed annotations of outdated events are not known
+				invalidateRowSummary();
 				return;
+			}
 
 			if (event.isWorldChange()) {
+				invalidateRowSummary();
 				update();
 				return;
 			}
 
-			Annotation[] annotations= event.getAddedAnnotations();
-			int length= annotations.length;
-			for (int i= 0; i < length; i++) {
-				if (!skip(annotations[i].getType())) {
-					update();
-					return;
-				}
-			}
-
-			annotations= event.getRemovedAnnotations();
-			length= annotations.length;
-			for (int i= 0; i < length; i++) {
-				if (!skip(annotations[i].getType())) {
-					update();
-					return;
-				}
-			}
+			boolean isUpdateNeeded= annotationsChanged(event.getAddedAnnotations());
+			isUpdateNeeded|= annotationsChanged(event.getRemovedAnnotations());
+			isUpdateNeeded|= annotationsChanged(event.getChangedAnnotations());
+			if (isUpdateNeeded)
+				update();
+		}
 
-			annotations= event.getChangedAnnotations();
-			length= annotations.length;
-			for (int i= 0; i < length; i++) {
-				if (!skip(annotations[i].getType())) {
-					update();
-					return;
+		/**
+		 * Records the given annotations for the update of the row summary.
+		 *
+		 * @param annotations the added, removed or changed annotations
+		 * @return <code>true</code> if any of the annotations is drawn by this ruler
+		 * @since 3.27
+		 */
+		private boolean annotationsChanged(Annotation[] annotations) {
+			boolean isDrawn= false;
+			for (Annotation annotation : annotations) {
+				if (!skip(annotation.getType())) {
+					synchronized (fRunnableLock) {
+						// an invalid row summary is computed again anyway
+						if (fIsRowSummaryValid && fChangedAnnotations.add(annotation) && fChangedAnnotations.size() > MAX_CHANGED_ANNOTATIONS)
+							invalidateRowSummary();
+					}
+					isDrawn= true;
 				}
 			}
-
+			return isDrawn;
 		}
 	}
 
@@ -384,6 +392,126 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			visibleLines= bottomIndex - topIndex;
 			invisibleLines= maxLines - visibleLines;
 		}
+
+		/**
+		 * Returns whether the given widget infos map lines to the same y coordinates.
+		 *
+		 * @param other the other widget infos
+		 * @return <code>true</code> if {@link OverviewRuler#computeY(int, WidgetInfos)} returns the
+		 *         same values for both infos
+		 * @since 3.27
+		 */
+		boolean hasSameMapping(WidgetInfos other) {
+			return maxLines == other.maxLines && thumbHeight == other.thumbHeight
+					&& visibleLines == other.visibleLines && invisibleLines == other.invisibleLines
+					&& bounds.equals(other.bounds) && writable == other.writable;
+		}
+	}
+
+	/**
+	 * Summary of the annotation rectangles drawn by this ruler, bucketed per pixel row of the
+	 * ruler. The rectangles are kept per slot, which is an annotation type layer combined with the
+	 * persistent or temporary style. The summary is reused across paints as long as the mapping
+	 * of lines to rows does not change, and updated for the annotations reported by the annotation
+	 * model events.
+	 *
+	 * @since 3.27
+	 */
+	private static class RowSummary {
+
+		/**
+		 * The rectangle of an annotation.
+		 */
+		private static class Entry {
+			/** The slots the annotation is drawn in */
+			final int[] slots;
+			/** The y coordinate of the rectangle */
+			final int y;
+			/** The height of the rectangle */
+			final int height;
+
+			Entry(int[] slots, int y, int height) {
+				this.slots= slots;
+				this.y= y;
+				this.height= height;
+			}
+		}
+
+		/** The widget infos the rows have been computed for */
+		final WidgetInfos infos;
+		/** Per slot, the number of rectangles of the default height starting at each row, or <code>null</code> if none */
+		final int[][] rowCounts;
+		/** Per slot, the number of other rectangles keyed by y coordinate and height, or <code>null</code> if none */
+		final List<Map<Long, Integer>> otherRectangles;
+		/** The rectangles of the summarized annotations */
+		final Map<Annotation, Entry> entries= new HashMap<>();
+
+		/**
+		 * Creates an empty summary.
+		 *
+		 * @param infos the widget infos
+		 * @param slotCount the number of slots
+		 */
+		RowSummary(WidgetInfos infos, int slotCount) {
+			this.infos= infos;
+			rowCounts= new int[slotCount][];
+			otherRectangles= new ArrayList<>(slotCount);
+			for (int i= 0; i < slotCount; i++)
+				otherRectangles.add(null);
+		}
+
+		/**
+		 * Adds the rectangle of the given annotation.
+		 *
+		 * @param annotation the annotation
+		 * @param slots the slots the annotation is drawn in
+		 * @param y the y coordinate of the rectangle
+		 * @param height the height of the rectangle
+		 */
+		void add(Annotation annotation, int[] slots, int y, int height) {
+			remove(annotation);
+			entries.put(annotation, new Entry(slots, y, height));
+			for (int slot : slots) {
+				if (isRow(y, height)) {
+					if (rowCounts[slot] == null)
+						rowCounts[slot]= new int[infos.bounds.height];
+					rowCounts[slot][y]++;
+				} else {
+					Map<Long, Integer> rectangles= otherRectangles.get(slot);
+					if (rectangles == null) {
+						rectangles= new HashMap<>();
+						otherRectangles.set(slot, rectangles);
+					}
+					rectangles.merge(toKey(y, height), Integer.valueOf(1), Integer::sum);
+				}
+			}
+		}
+
+		/**
+		 * Removes the rectangle of the given annotation, if any.
+		 *
+		 * @param annotation the annotation
+		 */
+		void remove(Annotation annotation) {
+			Entry entry= entries.remove(annotation);
+			if (entry == null)
+				return;
+			for (int slot : entry.slots) {
+				if (isRow(entry.y, entry.height)) {
+					rowCounts[slot][entry.y]--;
+				} else {
+					otherRectangles.get(slot).computeIfPresent(toKey(entry.y, entry.height), (key, count) -> count.intValue() > 1 ? Integer.valueOf(count.intValue() - 1) : null);
+				}
+			}
+		}
+
+		private boolean isRow(int y, int height) {
+			return height == ANNOTATION_HEIGHT && y >= 0 && y < infos.bounds.height;
+		}
+
+		private static Long toKey(int y, int height) {
+			return Long.valueOf(((long) y << 32) | (height & 0xFFFFFFFFL));
+		}
 	}
 
 	private static final boolean DEBUG_DRAW= false;
@@ -392,6 +520,12 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 
 	private static final int INSET= 2;
 	private static final int ANNOTATION_HEIGHT= 4;
+	/**
+	 * The number of changed annotations above which the row summary is computed again instead
+	 * of being updated incrementally.
+	 * @since 3.27
+	 */
+	private static final int MAX_CHANGED_ANNOTATIONS= 1000;
 	private static boolean ANNOTATION_HEIGHT_SCALABLE= true;
 
 
@@ -465,7 +599,28 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	 * The cached annotations.
 	 * @since 3.0
 	 */
-	private List<Annotation> fCachedAnnotations= new ArrayList<>();
+	private Set<Annotation> fCachedAnnotations= new LinkedHashSet<>();
+	/**
+	 * The summary of the drawn annotations, <code>null</code> if not yet computed.
+	 * @since 3.27
+	 */
+	private RowSummary fRowSummary;
+	/**
+	 * Tells whether the row summary can be updated incrementally.
+	 * @since 3.27
+	 */
+	private boolean fIsRowSummaryValid;
+	/**
+	 * The annotations changed since the last update of the row summary.
+	 * @since 3.27
+	 */
+	private Set<Annotation> fChangedAnnotations= new HashSet<>();
+	/**
+	 * The indices of the layers in {@link #fAnnotationsSortedByLayer} drawing the annotations
+	 * of a type.
+	 * @since 3.27
+	 */
+	private Map<Object, int[]> fLayersByAnnotationType= new HashMap<>();
 
 	/**
 	 * Redraw runnable lock
@@ -559,6 +714,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			if (fModel != null)
 				fModel.addAnnotationModelListener(fInternalListener);
 
+			invalidateRowSummary();
 			update();
 		}
 	}
@@ -655,6 +811,9 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		fAnnotationTypes2Colors.clear();
 		fAnnotationsSortedByLayer.clear();
 		fLayersSortedByLayer.clear();
+		invalidateRowSummary();
+		fRowSummary= null;
+		fCachedAnnotations.clear();
 	}
 
 	/**
@@ -684,8 +843,6 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			gc.setBackground(fCanvas.getBackground());
 			gc.fillRectangle(0, 0, size.x, size.y);
 
-			cacheAnnotations();
-
 			doPaint(gc);
 
 		} finally {
@@ -714,14 +871,35 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	}
 
 	/**
-	 * Draws this overview ruler.
+	 * Invalidates the row summary, it is computed again on the next paint.
 	 *
-	 * @param gc the GC to draw into
+	 * @since 3.27
 	 */
-	private void doPaint(GC gc) {
+	private void invalidateRowSummary() {
+		synchronized (fRunnableLock) {
+			fIsRowSummaryValid= false;
+			fChangedAnnotations.clear();
+		}
+	}
 
-		Rectangle r= new Rectangle(0, 0, 0, 0);
-		int yy, hh= ANNOTATION_HEIGHT;
+	/**
+	 * Brings the row summary up to date for the given widget infos. The summary is computed
+	 * again if it has been invalidated or if lines are mapped to other rows, otherwise only the
+	 * rectangles of the changed annotations are updated.
+	 *
+	 * @param infos the current widget infos
+	 * @return the row summary
+	 * @since 3.27
+	 */
+	private RowSummary updateRowSummary(WidgetInfos infos) {
+		boolean isValid;
+		Set<Annotation> changed;
+		synchronized (fRunnableLock) {
+			isValid= fIsRowSummaryValid && fRowSummary != null && fRowSummary.infos.hasSameMapping(infos);
+			fIsRowSummaryValid= true;
+			changed= fChangedAnnotations;
+			fChangedAnnotations= new HashSet<>();
+		}
 
 		IDocument document= fTextViewer.getDocument();
 		StyledText textWidget= fTextViewer.getTextWidget();
@@ -732,94 +910,175 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		else
 			visible= fTextViewer.getVisibleRegion(); // legacy support
 
-		WidgetInfos infos= null;
+		if (!isValid) {
+			fLayersByAnnotationType.clear();
+			fRowSummary= new RowSummary(infos, 2 * fAnnotationsSortedByLayer.size());
+			cacheAnnotations();
+			for (Annotation annotation : fCachedAnnotations)
+				addToRowSummary(annotation, document, textWidget, extension, visible, infos);
+		} else {
+			for (Annotation annotation : changed) {
+				fRowSummary.remove(annotation);
+				fCachedAnnotations.remove(annotation);
+				if (fModel != null && fModel.getPosition(annotation) != null && !annotation.isMarkedDeleted() && !skip(annotation.getType())) {
+					fCachedAnnotations.add(annotation);
+					addToRowSummary(annotation, document, textWidget, extension, visible, infos);
+				}
+			}
+		}
+		return fRowSummary;
+	}
+
+	/**
+	 * Adds the rectangle of the given annotation to the row summary.
+	 *
+	 * @param annotation the annotation
+	 * @param document the document
+	 * @param textWidget the text widget
+	 * @param extension the viewer extension, <code>null</code> if the visible region is used
+	 * @param visible the visible region, <code>null</code> if the viewer extension is used
+	 * @param infos the current widget infos
+	 * @since 3.27
+	 */
+	private void addToRowSummary(Annotation annotation, IDocument document, StyledText textWidget, ITextViewerExtension5 extension, IRegion visible, WidgetInfos infos) {
+		int[] layers= getLayers(annotation.getType());
+		if (layers.length == 0)
+			return;
+
+		Position p= fModel.getPosition(annotation);
+		if (p == null)
+			return;
+		if (visible != null && !p.overlapsWith(visible.getOffset(), visible.getLength()))
+			return;
+
+		int annotationOffset= p.getOffset();
+		int annotationLength= p.getLength();
+		IRegion widgetRegion= null;
+		if (visible != null) {
+			annotationOffset= Math.max(p.getOffset(), visible.getOffset());
+			int annotationEnd= Math.min(p.getOffset() + p.getLength(), visible.getOffset() + visible.getLength());
+			annotationLength= annotationEnd - annotationOffset;
+		} else {
+			widgetRegion= extension.modelRange2WidgetRange(new Region(annotationOffset, annotationLength));
+			if (widgetRegion == null)
+				return;
+		}
+
+		try {
+			@SuppressWarnings("null")
+			int startOffset= visible != null ? annotationOffset - visible.getOffset() : widgetRegion.getOffset();
+			int startLine= textWidget.getLineAtOffset(startOffset);
+
+			int yy= computeY(startLine, infos);
+			int hh= ANNOTATION_HEIGHT;
+
+			if (ANNOTATION_HEIGHT_SCALABLE) {
+				int numberOfLines= document.getNumberOfLines(annotationOffset, annotationLength);
+				// don't count empty trailing line
+				IRegion lastLine= document.getLineInformationOfOffset(annotationOffset + annotationLength);
+				if (lastLine.getOffset() == annotationOffset + annotationLength) {
+					numberOfLines--;
+				}
+				if (numberOfLines > 1) {
+					int yy2= computeY(startLine + numberOfLines - 1, infos);
+					hh= Math.max(yy2 - yy, ANNOTATION_HEIGHT);
+				}
+			}
+
+			int style= annotation.isPersistent() ? 0 : 1;
+			int[] slots= new int[layers.length];
+			for (int i= 0; i < layers.length; i++)
+				slots[i]= 2 * layers[i] + style;
+			fRowSummary.add(annotation, slots, yy, hh);
+		} catch (BadLocationException | IllegalArgumentException x) {
+			// We don't care if the widget's content is changed since the annotation was created
+			// and do not match the annotation line/offset etc
+		}
+	}
+
+	/**
+	 * Returns the indices of the layers in {@link #fAnnotationsSortedByLayer} which draw the
+	 * annotations of the given type.
+	 *
+	 * @param annotationType the annotation type
+	 * @return the indices of the layers in ascending order
+	 * @since 3.27
+	 */
+	private int[] getLayers(Object annotationType) {
+		int[] layers= fLayersByAnnotationType.get(annotationType);
+		if (layers == null) {
+			List<Integer> matching= new ArrayList<>();
+			for (int i= 0; i < fAnnotationsSortedByLayer.size(); i++) {
+				Object layerType= fAnnotationsSortedByLayer.get(i);
+				if (skip(layerType))
+					continue;
+				if (layerType.equals(annotationType) || !fConfiguredAnnotationTypes.contains(annotationType) && isSubtype(annotationType, layerType))
+					matching.add(Integer.valueOf(i));
+			}
+			layers= matching.stream().mapToInt(Integer::intValue).toArray();
+			fLayersByAnnotationType.put(annotationType, layers);
+		}
+		return layers;
+	}
 
-		for (Object annotationType : fAnnotationsSortedByLayer) {
+	/**
+	 * Returns whether the given annotation type is a subtype of the given layer type.
+	 *
+	 * @param annotationType the annotation type
+	 * @param layerType the annotation type of the layer
+	 * @return <code>true</code> if the annotations of the given type are drawn in the layer
+	 * @since 3.27
+	 */
+	private boolean isSubtype(Object annotationType, Object layerType) {
+		if (fAnnotationAccess instanceof IAnnotationAccessExtension) {
+			IAnnotationAccessExtension extension= (IAnnotationAccessExtension) fAnnotationAccess;
+			return extension.isSubtype(annotationType, layerType);
+		}
+		return layerType.equals(annotationType);
+	}
+
+	/**
+	 * Draws this overview ruler.
+	 *
+	 * @param gc the GC to draw into
+	 */
+	private void doPaint(GC gc) {
+
+		StyledText textWidget= fTextViewer.getTextWidget();
+		WidgetInfos infos= new WidgetInfos(textWidget, fCanvas);
+		RowSummary summary= updateRowSummary(infos);
+
+		Rectangle r= new Rectangle(INSET, 0, infos.bounds.width - (2 * INSET), 0);
+		int yy;
+
+		for (int i= 0; i < fAnnotationsSortedByLayer.size(); i++) {
+			Object annotationType= fAnnotationsSortedByLayer.get(i);
 			if (skip(annotationType))
 				continue;
 
 			int[] style= new int[] { FilterIterator.PERSISTENT, FilterIterator.TEMPORARY };
-			for (int element : style) {
-				boolean areColorsComputed= false;
-				Color fill= null;
-				Color stroke= null;
-
-				Iterator<Annotation> e= new FilterIterator(annotationType, element, fCachedAnnotations.iterator());
-				while (e.hasNext()) {
-					Annotation a= e.next();
-					Position p= fModel.getPosition(a);
-
-					if (p == null)
-						continue;
-					if (visible != null && !p.overlapsWith(visible.getOffset(), visible.getLength()))
-						continue;
+			for (int j= 0; j < style.length; j++) {
+				int slot= 2 * i + j;
+				if (slot >= summary.rowCounts.length)
+					break;
+				int[] rowCounts= summary.rowCounts[slot];
+				Map<Long, Integer> otherRectangles= summary.otherRectangles.get(slot);
+				if (rowCounts == null && (otherRectangles == null || otherRectangles.isEmpty()))
+					continue;
 
-					int annotationOffset= p.getOffset();
-					int annotationLength= p.getLength();
-					IRegion widgetRegion= null;
-					if (visible != null) {
-						annotationOffset= Math.max(p.getOffset(), visible.getOffset());
-						int annotationEnd= Math.min(p.getOffset() + p.getLength(), visible.getOffset() + visible.getLength());
-						annotationLength= annotationEnd - annotationOffset;
-					} else {
-						ITextViewerExtension5 ext= extension;
-						widgetRegion= ext.modelRange2WidgetRange(new Region(annotationOffset, annotationLength));
-						if (widgetRegion == null)
-							continue;
-					}
+				Color stroke= getStrokeColor(annotationType, style[j] == FilterIterator.TEMPORARY);
+				Color fill= fUseSaturatedColors ? stroke : getFillColor(annotationType, style[j] == FilterIterator.TEMPORARY);
 
-					if (infos == null) {
-						infos= new WidgetInfos(textWidget, fCanvas);
-						r.x= INSET;
-						r.width= infos.bounds.width - (2 * INSET);
+				if (rowCounts != null) {
+					for (int row= 0; row < rowCounts.length; row++) {
+						if (rowCounts[row] > 0)
+							drawAnnotation(gc, r, row, ANNOTATION_HEIGHT, fill, stroke, infos);
 					}
-
-					try {
-						@SuppressWarnings("null")
-						int startOffset= visible != null ? annotationOffset - visible.getOffset() : widgetRegion.getOffset();
-						int startLine= textWidget.getLineAtOffset(startOffset);
-
-						yy= computeY(startLine, infos);
-
-						if (ANNOTATION_HEIGHT_SCALABLE) {
-							int numberOfLines= document.getNumberOfLines(annotationOffset, annotationLength);
-							// don't count empty trailing line
-							IRegion lastLine= document.getLineInformationOfOffset(annotationOffset + annotationLength);
-							if (lastLine.getOffset() == annotationOffset + annotationLength) {
-								numberOfLines--;
-							}
-							if (numberOfLines > 1) {
-								int yy2= computeY(startLine + numberOfLines - 1, infos);
-								hh= Math.max(yy2 - yy, ANNOTATION_HEIGHT);
-							} else {
-								hh= ANNOTATION_HEIGHT;
-							}
-						}
-						fAnnotationHeight= hh;
-
-						if (!areColorsComputed) {
-							stroke= getStrokeColor(annotationType, element == FilterIterator.TEMPORARY);
-							fill= fUseSaturatedColors ? stroke : getFillColor(annotationType, element == FilterIterator.TEMPORARY);
-							areColorsComputed= true;
-						}
-
-						if (fill != null) {
-							gc.setBackground(fill);
-							gc.fillRectangle(INSET, yy, infos.bounds.width-(2*INSET), hh);
-						}
-
-						if (stroke != null) {
-							gc.setForeground(stroke);
-							r.y= yy;
-							if (yy + hh == infos.bounds.height)
-								r.y--;
-							r.height= hh;
-							gc.setLineWidth(0); // NOTE: 0 means width is 1 but with optimized performance
-							gc.drawRectangle(r);
-						}
-					} catch (BadLocationException | IllegalArgumentException x) {
-						// We don't care if the widget's content is changed since the annotation was created
-						// and do not match the annotation line/offset etc
+				}
+				if (otherRectangles != null) {
+					for (Long key : otherRectangles.keySet()) {
+						long rectangle= key.longValue();
+						drawAnnotation(gc, r, (int) (rectangle >> 32), (int) rectangle, fill, stroke, infos);
 					}
 				}
 			}
@@ -827,8 +1086,6 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 
 		if (DEBUG_DRAW) {
 			// draw debugging guides (boundaries):
-			if (infos == null)
-				infos= new WidgetInfos(textWidget, fCanvas);
 			gc.setForeground(gc.getDevice().getSystemColor(SWT.COLOR_DARK_MAGENTA));
 			yy= infos.thumbHeight / 2;
 			gc.drawLine(0, yy, infos.bounds.x/2, yy);
@@ -843,6 +1100,37 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		}
 	}
 
+	/**
+	 * Draws the rectangle of an annotation.
+	 *
+	 * @param gc the GC to draw into
+	 * @param r the rectangle to reuse for the stroke
+	 * @param yy the y coordinate of the rectangle
+	 * @param hh the height of the rectangle
+	 * @param fill the fill color, may be <code>null</code>
+	 * @param stroke the stroke color, may be <code>null</code>
+	 * @param infos the cached widget infos
+	 * @since 3.27
+	 */
+	private void drawAnnotation(GC gc, Rectangle r, int yy, int hh, Color fill, Color stroke, WidgetInfos infos) {
+		fAnnotationHeight= hh;
+
+		if (fill != null) {
+			gc.setBackground(fill);
+			gc.fillRectangle(INSET, yy, infos.bounds.width-(2*INSET), hh);
+		}
+
+		if (stroke != null) {
+			gc.setForeground(stroke);
+			r.y= yy;
+			if (yy + hh == infos.bounds.height)
+				r.y--;
+			r.height= hh;
+			gc.setLineWidth(0); // NOTE: 0 means width is 1 but with optimized performance
+			gc.drawRectangle(r);
+		}
+	}
+
 	/**
 	 * Computes and returns the y location of the given startLine.
 	 *
@@ -1162,6 +1450,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.add(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		invalidateRowSummary();
 	}
 
 	@Override
@@ -1170,6 +1459,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.remove(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		invalidateRowSummary();
 	}
 
 	@Override
@@ -1189,6 +1479,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fLayersSortedByLayer.add(i, layerObj);
 			fAnnotationsSortedByLayer.add(i, annotationType);
 		}
+		invalidateRowSummary();
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,9 @@
 package org.eclipse.jface.action;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.accessibility.ACC;
@@ -32,6 +35,8 @@ import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.ToolBar;
 import org.eclipse.swt.widgets.ToolItem;
 
+import org.eclipse.jface.resource.ImageDescriptor;
+
 /**
  * A tool bar manager is a contribution manager which realizes itself and its
  * items in a tool bar control.
@@ -247,6 +252,30 @@ public class ToolBarManager extends ContributionManager implements IToolBarManag
 		}
 	}
 
+	/**
+	 * Starts decoding the images of the action contribution items that are about
+	 * to get a new tool item in the background, at the given zoom of the monitor
+	 * the tool bar is shown on, so that the tool items created afterwards don't have to wait
+	 * for each image file in turn. Items that already have a tool item are
+	 * skipped, as their images have been created before.
+	 */
+	private static void prefetchImages(List<IContributionItem> items, ToolItem[] existing, int zoom) {
+		Set<Object> filled = new HashSet<>();
+		for (ToolItem item : existing) {
+			if (item != null) {
+				filled.add(item.getData());
+			}
+		}
+		for (IContributionItem item : items) {
+			if (item instanceof ActionContributionItem && (item.isDynamic() || !filled.contains(item))) {
+				ImageDescriptor image = ((ActionContributionItem) item).getAction().getImageDescriptor();
+				if (image != null) {
+					image.prefetch(zoom);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Returns whether the tool bar control is created and not disposed.
 	 *
@@ -295,6 +324,7 @@ public class ToolBarManager extends ContributionManager implements IToolBarManag
 
 		// determine obsolete items (removed or non active)
 		ToolItem[] mi = toolBar.getItems();
+		prefetchImages(clean, mi, toolBar.getMonitor().getZoom());
 		ArrayList<ToolItem> toRemove = new ArrayList<>(mi.length);
 		for (ToolItem item : mi) {
 			// there may be null items in a toolbar
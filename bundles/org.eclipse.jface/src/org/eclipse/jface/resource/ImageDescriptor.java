@@ -434,6 +434,22 @@ public abstract class ImageDescriptor extends DeviceResourceDescriptor<Image> {
 		return getImageData(100);
 	}
 
+	/**
+	 * Hints that an image will soon be created from this descriptor for the given
+	 * zoom level. Descriptors that load their image data from files or URLs may
+	 * use this to read and decode the image data on a background thread, so that
+	 * the later creation of the image on the UI thread doesn't block on I/O.
+	 * <p>
+	 * The default implementation does nothing. Subclasses may override.
+	 * </p>
+	 *
+	 * @param zoom the zoom level in % of the standard resolution
+	 * @since 3.36
+	 */
+	public void prefetch(int zoom) {
+		// do nothing by default
+	}
+
 	/**
 	 * Returns the shared image descriptor for a missing image.
 	 *
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.resource;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.eclipse.swt.graphics.ImageData;
+
+/**
+ * A process wide cache of image data that has been decoded in the background
+ * for {@link URLImageDescriptor}s.
+ * <p>
+ * Entries are only created by {@link #prefetch(String, int, BiFunction)}, i.e.
+ * for descriptors whose images are known to be created soon. The decoded image
+ * data is kept softly reachable and shared between all resource managers, while
+ * callers always receive their own copy. Entries whose data has been collected
+ * are removed, and at most {@value #MAX_ENTRIES} entries are kept, evicting the
+ * least recently used ones.
+ * </p>
+ *
+ * @since 3.36
+ */
+final class URLImageDataCache {
+
+	/**
+	 * The maximum number of URL and zoom combinations kept in the cache
+	 */
+	static final int MAX_ENTRIES = 256;
+
+	/**
+	 * Maps image URLs and zoom levels onto the image data being decoded. Guarded
+	 * by synchronizing on the map itself.
+	 */
+	private static final Map<Key, CacheReference> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, CacheReference> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private static final ReferenceQueue<CompletableFuture<ImageData>> CLEARED = new ReferenceQueue<>();
+
+	private static final Executor EXECUTOR = createExecutor();
+
+	private URLImageDataCache() {
+		// not intended to be instantiated
+	}
+
+	private static Executor createExecutor() {
+		int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 5, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), r -> {
+					Thread thread = new Thread(r, "JFace Image Loader " + count.incrementAndGet()); //$NON-NLS-1$
+					thread.setDaemon(true);
+					thread.setPriority(Thread.NORM_PRIORITY - 1);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Schedules decoding the image data of the given URL at the given zoom on
+	 * a background thread, unless it is already cached or being decoded.
+	 *
+	 * @param url    the external form of the image URL
+	 * @param zoom   the zoom level
+	 * @param loader the function decoding the image data for a URL and zoom,
+	 *               may return <code>null</code>
+	 */
+	static void prefetch(String url, int zoom, BiFunction<String, Integer, ImageData> loader) {
+		Key key = new Key(url, zoom);
+		synchronized (CACHE) {
+			expungeClearedEntries();
+			CacheReference ref = CACHE.get(key);
+			if (ref != null && ref.get() != null) {
+				return;
+			}
+			CompletableFuture<ImageData> future = CompletableFuture.supplyAsync(() -> {
+				try {
+					return loader.apply(url, Integer.valueOf(zoom));
+				} catch (RuntimeException e) {
+					// decoding is retried and reported when the image is created
+					return null;
+				}
+			}, EXECUTOR);
+			CACHE.put(key, new CacheReference(key, future));
+		}
+	}
+
+	/**
+	 * Returns a copy of the image data decoded in the background for the given
+	 * URL and zoom. If the data is still being decoded, waits for it.
+	 *
+	 * @param url  the external form of the image URL
+	 * @param zoom the zoom level
+	 * @return a copy of the image data, or <code>null</code> if no image data was
+	 *         prefetched or it could not be loaded
+	 */
+	static ImageData get(String url, int zoom) {
+		CompletableFuture<ImageData> future = getFuture(url, zoom);
+		if (future == null) {
+			return null;
+		}
+		ImageData data;
+		try {
+			data = future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			return null;
+		}
+		return data != null ? (ImageData) data.clone() : null;
+	}
+
+	/**
+	 * Returns whether image data of the given URL has been decoded at the given
+	 * zoom and is still available, i.e. whether {@link #get(String, int)} would
+	 * return image data without waiting.
+	 *
+	 * @param url  the external form of the image URL
+	 * @param zoom the zoom level
+	 * @return whether decoded image data is available
+	 */
+	static boolean isPrefetched(String url, int zoom) {
+		return isDecoded(getFuture(url, zoom));
+	}
+
+	/**
+	 * Returns whether image data of the given URL has been decoded at any zoom
+	 * and is still available.
+	 *
+	 * @param url the external form of the image URL
+	 * @return whether decoded image data is available at any zoom
+	 */
+	static boolean isPrefetched(String url) {
+		synchronized (CACHE) {
+			expungeClearedEntries();
+			for (Map.Entry<Key, CacheReference> entry : CACHE.entrySet()) {
+				if (entry.getKey().url().equals(url) && isDecoded(entry.getValue().get())) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static boolean isDecoded(CompletableFuture<ImageData> future) {
+		return future != null && future.isDone() && !future.isCompletedExceptionally()
+				&& future.getNow(null) != null;
+	}
+
+	private static CompletableFuture<ImageData> getFuture(String url, int zoom) {
+		synchronized (CACHE) {
+			expungeClearedEntries();
+			CacheReference ref = CACHE.get(new Key(url, zoom));
+			return ref != null ? ref.get() : null;
+		}
+	}
+
+	/**
+	 * Removes the entries whose image data has been garbage collected. Must be
+	 * called while holding the lock of {@link #CACHE}.
+	 */
+	private static void expungeClearedEntries() {
+		Reference<? extends CompletableFuture<ImageData>> ref;
+		while ((ref = CLEARED.poll()) != null) {
+			CacheReference cleared = (CacheReference) ref;
+			CACHE.remove(cleared.key, cleared);
+		}
+	}
+
+	private static record Key(String url, int zoom) {
+	}
+
+	private static final class CacheReference extends SoftReference<CompletableFuture<ImageData>> {
+
+		final Key key;
+
+		CacheReference(Key key, CompletableFuture<ImageData> future) {
+			super(future, CLEARED);
+			this.key = key;
+		}
+	}
+}
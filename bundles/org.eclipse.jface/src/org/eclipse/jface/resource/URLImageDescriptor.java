@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -136,7 +136,20 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 		return getImageData(url, zoom);
 	}
 
+	@Override
+	public void prefetch(int zoom) {
+		URLImageDataCache.prefetch(url, zoom, (u, z) -> loadImageData(u, z.intValue()));
+	}
+
 	private static ImageData getImageData(String url, int zoom) {
+		ImageData prefetched = URLImageDataCache.get(url, zoom);
+		if (prefetched != null) {
+			return prefetched;
+		}
+		return loadImageData(url, zoom);
+	}
+
+	private static ImageData loadImageData(String url, int zoom) {
 		URL tempURL = getURL(url);
 		if (tempURL != null) {
 			if (zoom == 100) {
@@ -298,7 +311,10 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 		}
 		try {
 			if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x) {
-				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY) {
+				// Image data that has already been decoded in the background is cheaper
+				// than letting SWT load the file. The data provider serves the zooms SWT
+				// requests from the prefetched data where available and loads the others.
+				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY && !URLImageDataCache.isPrefetched(url)) {
 					try {
 						// We really want a fresh ImageFileNameProvider instance to make
 						// sure the code that uses created images can use equals(),
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2015 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,33 +13,90 @@
  *******************************************************************************/
 package org.eclipse.jface.viewers.deferred;
 
-import java.util.HashMap;
-
 /**
- * Represents a map of objects onto ints. This is intended for future optimization:
- * using int primitives would allow for an implementation that doesn't require
- * additional object allocations for Integers. However, the current implementation
- * simply delegates to the Java HashMap class.
+ * Represents a map of objects onto ints. Keys and values are kept in parallel
+ * arrays using open addressing with linear probing, so neither lookups nor
+ * insertions allocate <code>Integer</code> or entry objects. This matters for
+ * the deferred viewers, which keep one entry per element of models that may
+ * contain millions of elements.
+ * <p>
+ * Keys are compared using {@link Object#equals(Object)} and
+ * {@link Object#hashCode()}, just like {@link java.util.HashMap}.
+ * </p>
  *
  * @since 3.1
  */
 /* package */ class IntHashMap {
-	private HashMap map;
+	/**
+	 * Stands in for the <code>null</code> key, since <code>null</code> marks
+	 * free slots in the key array.
+	 */
+	private static final Object NULL_KEY = new Object();
+
+	private static final int MIN_CAPACITY = 16;
+
+	/**
+	 * Open addressing degrades quickly when the table gets full, so higher
+	 * load factors are clamped to this value.
+	 */
+	private static final float MAX_LOAD_FACTOR = 0.8f;
+
+	private final float loadFactor;
+
+	private Object[] keys;
+
+	private int[] values;
+
+	private int size;
+
+	/**
+	 * Number of entries at which the table is grown
+	 */
+	private int threshold;
 
 	public IntHashMap(int size, float loadFactor) {
-		map = new HashMap(size, loadFactor);
+		if (size < 0 || !(loadFactor > 0)) {
+			throw new IllegalArgumentException();
+		}
+		this.loadFactor = Math.min(loadFactor, MAX_LOAD_FACTOR);
+		allocate(tableSizeFor((int) (size / this.loadFactor) + 1));
 	}
 
 	public IntHashMap() {
-		map = new HashMap();
+		this(MIN_CAPACITY, 0.75f);
 	}
 
 	public void remove(Object key) {
-		map.remove(key);
+		Object k = maskNull(key);
+		int mask = keys.length - 1;
+		int i = indexFor(k, mask);
+		Object current;
+		while ((current = keys[i]) != null) {
+			if (current == k || current.equals(k)) {
+				deleteSlot(i);
+				return;
+			}
+			i = (i + 1) & mask;
+		}
 	}
 
 	public void put(Object key, int value) {
-		map.put(key, Integer.valueOf(value));
+		Object k = maskNull(key);
+		int mask = keys.length - 1;
+		int i = indexFor(k, mask);
+		Object current;
+		while ((current = keys[i]) != null) {
+			if (current == k || current.equals(k)) {
+				values[i] = value;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = k;
+		values[i] = value;
+		if (++size > threshold) {
+			rehash(keys.length << 1);
+		}
 	}
 
 	/**
@@ -53,26 +110,106 @@ import java.util.HashMap;
 	 * @return the int value at the given key, or the default value if this map does not contain the given key
 	 */
 	public int get(Object key, int defaultValue) {
-		Integer result = (Integer)map.get(key);
-
-		if (result != null) {
-			return result.intValue();
-		}
-
-		return defaultValue;
+		int i = find(key);
+		return i < 0 ? defaultValue : values[i];
 	}
 
 	/**
 	 * @return <code>true</code> if this map contains the given key, <code>false</code> otherwise
 	 */
 	public boolean containsKey(Object key) {
-		return map.containsKey(key);
+		return find(key) >= 0;
 	}
 
 	/**
 	 * @return the number of key/value pairs
 	 */
 	public int size() {
-		return map.size();
+		return size;
+	}
+
+	/**
+	 * Returns the slot holding the given key, or -1 if there is none.
+	 */
+	private int find(Object key) {
+		Object k = maskNull(key);
+		int mask = keys.length - 1;
+		int i = indexFor(k, mask);
+		Object current;
+		while ((current = keys[i]) != null) {
+			if (current == k || current.equals(k)) {
+				return i;
+			}
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Removes the entry at the given slot and shifts back the entries of the
+	 * following probe sequence, so that no tombstones are required.
+	 */
+	private void deleteSlot(int slot) {
+		int mask = keys.length - 1;
+		int gap = slot;
+		int i = (slot + 1) & mask;
+		Object current;
+		while ((current = keys[i]) != null) {
+			int home = indexFor(current, mask);
+			// Move the entry into the gap unless its home slot lies cyclically in (gap, i]
+			if (((i - home) & mask) >= ((i - gap) & mask)) {
+				keys[gap] = current;
+				values[gap] = values[i];
+				gap = i;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[gap] = null;
+		values[gap] = 0;
+		size--;
+	}
+
+	private void rehash(int newCapacity) {
+		Object[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(newCapacity);
+		int mask = newCapacity - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			Object k = oldKeys[j];
+			if (k != null) {
+				int i = indexFor(k, mask);
+				while (keys[i] != null) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = k;
+				values[i] = oldValues[j];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new Object[capacity];
+		values = new int[capacity];
+		threshold = Math.min((int) (capacity * loadFactor), capacity - 1);
+	}
+
+	private static int tableSizeFor(int size) {
+		int capacity = MIN_CAPACITY;
+		while (capacity < size && capacity < (1 << 30)) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private static int indexFor(Object key, int mask) {
+		int h = key.hashCode();
+		// Spread the high bits, since the table size is a power of two
+		h ^= (h >>> 16);
+		h *= 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	private static Object maskNull(Object key) {
+		return key == null ? NULL_KEY : key;
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -54,6 +54,8 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 	private Position[] fCachedSegments;
 	/** Cached fragments */
 	private Position[] fCachedFragments;
+	/** Cached image length, i.e. the sum of the segment lengths, or <code>-1</code> */
+	private int fCachedImageLength= -1;
 
 	/**
 	 * Creates a new mapping between the given parent document and the given projection document.
@@ -76,6 +78,7 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 	public void projectionChanged() {
 		fCachedSegments= null;
 		fCachedFragments= null;
+		fCachedImageLength= -1;
 	}
 
 	private Position[] getSegments() {
@@ -547,12 +550,19 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 
 	@Override
 	public int getImageLength() {
-		Position[] segments= getSegments();
-		int length= 0;
-		for (Position segment : segments) {
-			length += segment.length;
+		// the image length is checked by every offset translation, only sum up the
+		// segments again after a projection change
+		if (fCachedImageLength == -1) {
+			Position[] segments= getSegments();
+			int length= 0;
+			for (Position segment : segments) {
+				length += segment.length;
+			}
+			if (fCachedSegments == null)
+				return length;
+			fCachedImageLength= length;
 		}
-		return length;
+		return fCachedImageLength;
 	}
 
 	@Override
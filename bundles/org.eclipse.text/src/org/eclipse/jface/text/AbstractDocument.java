@@ -1585,16 +1585,16 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (canStartBefore && canEndAfter || (!canStartBefore && !canEndAfter)) {
 			List<Position> documentPositions;
 			if (canStartBefore && canEndAfter) {
-				if (offset < getLength() / 2) {
-					documentPositions= getStartingPositions(category, 0, offset + length);
-				} else {
-					documentPositions= getEndingPositions(category, offset, getLength() - offset + 1);
-				}
+				// Overlapping positions start before the region's end and end after its start. Both
+				// candidate lists are found by binary search, so only scan the shorter one.
+				List<Position> starting= getStartingPositions(category, 0, offset + length);
+				List<Position> ending= getEndingPositions(category, offset, getLength() - offset + 1);
+				documentPositions= starting.size() <= ending.size() ? starting : ending;
 			} else {
 				documentPositions= getStartingPositions(category, offset, length);
 			}
 
-			ArrayList<Position> list= new ArrayList<>(documentPositions.size());
+			ArrayList<Position> list= new ArrayList<>();
 
 			Position region= new Position(offset, length);
 
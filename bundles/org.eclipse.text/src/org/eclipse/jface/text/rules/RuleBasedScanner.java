@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -56,6 +56,8 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 	protected int fColumn;
 	/** Internal setting for the un-initialized column cache. */
 	protected static final int UNDEFINED= -1;
+	/** The rules indexed by their start characters, built lazily for {@link #fRules} */
+	private StartCharacterRules fStartCharacterRules;
 
 	/**
 	 * Creates a new rule based scanner which does not have any rule.
@@ -166,7 +168,13 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 		fColumn= UNDEFINED;
 
 		if (fRules != null) {
-			for (IRule fRule : fRules) {
+			if (fStartCharacterRules == null || !fStartCharacterRules.isFor(fRules))
+				fStartCharacterRules= new StartCharacterRules(fRules);
+
+			// only evaluate the rules which may detect a token starting with the next character
+			int c= read();
+			unread();
+			for (IRule fRule : fStartCharacterRules.getRules(c)) {
 				IToken token= (fRule.evaluate(this));
 				if (!token.isUndefined())
 					return token;
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.rules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * The rules of a scanner indexed by the character at the scanner position.
+ * <p>
+ * For each ASCII character, the table holds the rules which may detect a token
+ * starting with that character, in the order of the original rules. A rule
+ * which cannot detect such a token only reads and unreads the character, so
+ * skipping it yields the same tokens. The start characters are only known for
+ * the rules of this package whose evaluation is not overridden, all other rules
+ * are always evaluated.
+ * </p>
+ */
+final class StartCharacterRules {
+
+	/** The characters covered by the table. */
+	private static final int TABLE_SIZE= 128;
+
+	/** The rules the table has been built for. */
+	private final IRule[] fRules;
+
+	/** The rules to evaluate per character. */
+	private final IRule[][] fRulesByCharacter;
+
+	/**
+	 * Creates the table for the given rules.
+	 *
+	 * @param rules the rules, not modified
+	 */
+	StartCharacterRules(IRule[] rules) {
+		fRules= rules;
+		fRulesByCharacter= new IRule[TABLE_SIZE][];
+
+		// characters with the same applicable rules share the array
+		Map<List<IRule>, IRule[]> shared= new HashMap<>();
+		List<IRule> applicable= new ArrayList<>(rules.length);
+		for (int c= 0; c < TABLE_SIZE; c++) {
+			applicable.clear();
+			for (IRule rule : rules) {
+				if (canStartWith(rule, (char) c))
+					applicable.add(rule);
+			}
+			IRule[] array= shared.get(applicable);
+			if (array == null) {
+				array= applicable.size() == rules.length ? rules : applicable.toArray(new IRule[applicable.size()]);
+				shared.put(Arrays.asList(array), array);
+			}
+			fRulesByCharacter[c]= array;
+		}
+	}
+
+	/**
+	 * Returns whether the table has been built for the given rules.
+	 *
+	 * @param rules the rules
+	 * @return <code>true</code> if the table has been built for exactly this array
+	 */
+	boolean isFor(IRule[] rules) {
+		return fRules == rules;
+	}
+
+	/**
+	 * Returns the rules to evaluate when the scanner is positioned at the given
+	 * character.
+	 *
+	 * @param c the character at the scanner position, or {@link ICharacterScanner#EOF}
+	 * @return the rules to evaluate, in order
+	 */
+	IRule[] getRules(int c) {
+		if (c >= 0 && c < TABLE_SIZE)
+			return fRulesByCharacter[c];
+		return fRules;
+	}
+
+	/**
+	 * Returns whether the given rule may detect a token starting with the given
+	 * character.
+	 *
+	 * @param rule the rule
+	 * @param c the character
+	 * @return <code>false</code> if the rule certainly returns an undefined token
+	 */
+	private static boolean canStartWith(IRule rule, char c) {
+		Class<?> type= rule.getClass();
+		if (type == PatternRule.class || type == SingleLineRule.class || type == MultiLineRule.class
+				|| type == EndOfLineRule.class || type == WordPatternRule.class)
+			return ((PatternRule) rule).fStartSequence[0] == c;
+		if (type == WordRule.class)
+			return ((WordRule) rule).fDetector.isWordStart(c);
+		if (type == NumberRule.class)
+			return Character.isDigit(c);
+		if (type == WhitespaceRule.class)
+			return ((WhitespaceRule) rule).fDetector.isWhitespace(c);
+		return true;
+	}
+}
@@ -316,7 +316,10 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 			@Override
 			public void documentChanged(DocumentEvent event) {
-				fDocumentChanged= true;
+				// Pure insertions never delete positions, so they don't require a cleanup which
+				// would have to visit all annotations of this model
+				if (event.getLength() > 0)
+					fDocumentChanged= true;
 			}
 		};
 	}
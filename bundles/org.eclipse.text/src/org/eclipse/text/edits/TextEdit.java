@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.text.edits;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -350,6 +351,8 @@ public abstract class TextEdit {
 	 * @see #addChild(TextEdit)
 	 */
 	public final void addChildren(TextEdit[] edits) throws MalformedTreeException {
+		if (edits.length > 1 && internalAddAll(edits))
+			return;
 		for (TextEdit edit : edits) {
 			internalAdd(edit);
 		}
@@ -786,6 +789,74 @@ public abstract class TextEdit {
 		child.internalSetParent(this);
 	}
 
+	/**
+	 * Adds the given edits by sorting them and merging them with the existing
+	 * children in a single pass, instead of inserting them one by one. Inserting
+	 * the edits one by one shifts the children list for each edit that is not
+	 * added at its end, which is quadratic for large unsorted edit arrays.
+	 * <p>
+	 * The resulting order is the same as the one of {@link #internalAdd(TextEdit)}.
+	 * If one of the edits can't be added, this edit is left unchanged and
+	 * <code>false</code> is returned, so that the caller can add the edits one
+	 * by one and report the problem as before.
+	 * </p>
+	 *
+	 * @param edits the edits to add
+	 * @return whether the edits have been added
+	 */
+	private boolean internalAddAll(TextEdit[] edits) {
+		TextEdit[] sorted= edits.clone();
+		List<TextEdit> merged;
+		try {
+			for (TextEdit child : sorted) {
+				// the region of an empty multi text edit depends on the children added before
+				if (child == null || child.fParent != null || !child.isDefined())
+					return false;
+				child.aboutToBeAdded(this);
+				if (child.isDeleted() || !covers(child))
+					return false;
+			}
+			// stable, so edits at the same insertion point keep their order
+			Arrays.sort(sorted, INSERTION_COMPARATOR);
+
+			int size= fChildren != null ? fChildren.size() : 0;
+			merged= new ArrayList<>(size + sorted.length);
+			int i= 0;
+			int j= 0;
+			while (i < size && j < sorted.length) {
+				// existing children go first, see computeInsertionIndex
+				if (INSERTION_COMPARATOR.compare(fChildren.get(i), sorted[j]) <= 0)
+					merged.add(fChildren.get(i++));
+				else
+					merged.add(sorted[j++]);
+			}
+			while (i < size)
+				merged.add(fChildren.get(i++));
+			while (j < sorted.length)
+				merged.add(sorted[j++]);
+
+			// detects overlapping edits
+			for (int k= 1; k < merged.size(); k++) {
+				if (INSERTION_COMPARATOR.compare(merged.get(k - 1), merged.get(k)) > 0)
+					return false;
+			}
+		} catch (MalformedTreeException | IllegalArgumentException e) {
+			return false;
+		}
+
+		for (int k= 0; k < sorted.length; k++) {
+			if (sorted[k].fParent != null) {
+				// the same edit is contained twice
+				for (int l= 0; l < k; l++)
+					sorted[l].fParent= null;
+				return false;
+			}
+			sorted[k].fParent= this;
+		}
+		fChildren= merged;
+		return true;
+	}
+
 	private int computeInsertionIndex(TextEdit edit) throws MalformedTreeException {
 		int size= fChildren.size();
 		if (size == 0)
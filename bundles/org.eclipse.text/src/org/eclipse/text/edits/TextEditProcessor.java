@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,12 +14,21 @@
 package org.eclipse.text.edits;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IDocumentPartitioner;
+import org.eclipse.jface.text.IDocumentPartitionerExtension2;
+import org.eclipse.jface.text.Position;
 
 
 /**
@@ -188,6 +197,9 @@ public class TextEditProcessor {
 	//---- execution --------------------------------------------------------------------
 
 	UndoEdit executeDo() throws BadLocationException {
+		if (canExecuteAtOnce())
+			return executeDoAtOnce();
+
 		UndoCollector collector= new UndoCollector(fRoot);
 		try {
 			if (createUndo())
@@ -203,6 +215,137 @@ public class TextEditProcessor {
 		return collector.undo;
 	}
 
+	/**
+	 * Returns whether the edit tree can be applied by a single document replace
+	 * that is indistinguishable from applying the edits one by one, apart from
+	 * the number of document events. This is the case for a plain multi text edit
+	 * whose children are replace, insert and delete edits, as long as no position
+	 * of the document lies within or touches the affected range. Positions
+	 * managed by the document's partitioners don't count, since partitioners
+	 * repair their partitions from the document event.
+	 *
+	 * @return whether the edits can be applied at once
+	 */
+	private boolean canExecuteAtOnce() {
+		if (getClass() != TextEditProcessor.class || fRoot.getClass() != MultiTextEdit.class)
+			return false;
+		for (List<TextEdit> list : fSourceEdits) {
+			if (list != null && !list.isEmpty())
+				return false;
+		}
+		List<TextEdit> children= fRoot.internalGetChildren();
+		if (children == null || children.size() < 2)
+			return false;
+		for (TextEdit child : children) {
+			Class<?> clazz= child.getClass();
+			if (clazz != ReplaceEdit.class && clazz != InsertEdit.class && clazz != DeleteEdit.class || child.hasChildren())
+				return false;
+		}
+
+		int start= children.get(0).getOffset();
+		int end= children.get(children.size() - 1).getExclusiveEnd();
+		Set<String> partitionerCategories= getPartitionerCategories();
+		try {
+			for (String category : fDocument.getPositionCategories()) {
+				if (partitionerCategories.contains(category))
+					continue;
+				for (Position position : fDocument.getPositions(category)) {
+					if (position.getOffset() <= end && start <= position.getOffset() + position.getLength())
+						return false;
+				}
+			}
+		} catch (BadPositionCategoryException e) {
+			return false;
+		}
+		return true;
+	}
+
+	private Set<String> getPartitionerCategories() {
+		List<IDocumentPartitioner> partitioners= new ArrayList<>();
+		if (fDocument instanceof IDocumentExtension3 extension) {
+			for (String partitioning : extension.getPartitionings())
+				partitioners.add(extension.getDocumentPartitioner(partitioning));
+		} else {
+			partitioners.add(fDocument.getDocumentPartitioner());
+		}
+
+		Set<String> categories= new HashSet<>();
+		for (IDocumentPartitioner partitioner : partitioners) {
+			if (partitioner instanceof IDocumentPartitionerExtension2 extension) {
+				String[] managed= extension.getManagingPositionCategories();
+				if (managed != null)
+					categories.addAll(Arrays.asList(managed));
+			}
+		}
+		return categories;
+	}
+
+	/**
+	 * Applies the children of the root edit by replacing the range they cover
+	 * with a text that is built in a single pass. Edits, undo edit and regions
+	 * are updated as if the edits had been applied one by one.
+	 *
+	 * @return the undo edit or <code>null</code>
+	 * @throws BadLocationException if the edits can't be applied to the document
+	 */
+	private UndoEdit executeDoAtOnce() throws BadLocationException {
+		List<TextEdit> children= fRoot.internalGetChildren();
+		int size= children.size();
+		int start= children.get(0).getOffset();
+		int end= children.get(size - 1).getExclusiveEnd();
+		String current= fDocument.get(start, end - start);
+
+		String[] texts= new String[size];
+		int newLength= current.length();
+		for (int i= 0; i < size; i++) {
+			TextEdit child= children.get(i);
+			texts[i]= child instanceof ReplaceEdit replace ? replace.getText()
+					: child instanceof InsertEdit insert ? insert.getText() : ""; //$NON-NLS-1$
+			newLength+= texts[i].length() - child.getLength();
+		}
+
+		StringBuilder text= new StringBuilder(newLength);
+		int position= start;
+		for (int i= 0; i < size; i++) {
+			TextEdit child= children.get(i);
+			text.append(current, position - start, child.getOffset() - start);
+			text.append(texts[i]);
+			position= child.getExclusiveEnd();
+		}
+
+		UndoCollector collector= new UndoCollector(fRoot);
+		if (createUndo()) {
+			// record the same undo edits as when replacing from the last to the first edit
+			collector.undo= new UndoEdit();
+			for (int i= size - 1; i >= 0; i--) {
+				TextEdit child= children.get(i);
+				DocumentEvent event= new DocumentEvent(fDocument, child.getOffset(), child.getLength(), texts[i]);
+				collector.documentAboutToBeChanged(event);
+				collector.documentChanged(event);
+			}
+		}
+
+		fDocument.replace(start, end - start, text.toString());
+
+		int delta= 0;
+		for (int i= size - 1; i >= 0; i--) {
+			TextEdit child= children.get(i);
+			child.fDelta= texts[i].length() - child.getLength();
+			if (child.fDelta != 0)
+				child.adjustLength(child.fDelta);
+			delta+= child.fDelta;
+			fRoot.childDocumentUpdated();
+		}
+		if (delta != 0)
+			fRoot.adjustLength(delta);
+		fRoot.performDocumentUpdating(fDocument);
+
+		if (updateRegions())
+			fRoot.traverseRegionUpdating(this, fDocument, 0, false);
+		collector.disconnect(fDocument);
+		return collector.undo;
+	}
+
 	private void computeSources() {
 		for (List<TextEdit> list : fSourceEdits) {
 			if (list != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2019 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -421,6 +421,20 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		protected long getRedoModificationStamp() {
 			return fRedoModificationStamp;
 		}
+
+		/**
+		 * Returns the estimated number of bytes retained by the text of this change.
+		 *
+		 * @return the estimated memory usage of this change
+		 */
+		protected long getMemoryUsage() {
+			long length= 0;
+			if (fText != null)
+				length+= fText.length();
+			if (fPreservedText != null)
+				length+= fPreservedText.length();
+			return length * Character.BYTES;
+		}
 	}
 
 
@@ -560,6 +574,15 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			return fStart > -1 || !fChanges.isEmpty();
 		}
 
+		@Override
+		protected long getMemoryUsage() {
+			long usage= super.getMemoryUsage();
+			for (UndoableTextChange change : fChanges) {
+				usage+= change.getMemoryUsage();
+			}
+			return usage;
+		}
+
 		@Override
 		protected long getUndoModificationStamp() {
 			if (fStart > -1) {
@@ -773,6 +796,9 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 	/** The list of clients connected. */
 	private List<Object> fConnected;
 
+	/** The maximal number of bytes retained by the undo history, or <code>0</code> if unlimited. */
+	private long fMemoryLimit= 0;
+
 	/**
 	 *
 	 * Create a DocumentUndoManager for the given document.
@@ -816,6 +842,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			}
 		}
 		fCurrent.commit();
+		enforceMemoryLimit();
 	}
 
 	@Override
@@ -895,6 +922,87 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		fHistory.setLimit(fUndoContext, undoLimit);
 	}
 
+	/**
+	 * Sets the maximal number of bytes the text changes of the undo and redo history of the
+	 * document may retain. When a change is committed and the history exceeds this limit, the oldest
+	 * changes of the undo history are discarded until it fits. The most recent change is always
+	 * kept, and changes that can be redone are never discarded. The memory used by a change is
+	 * estimated from the length of its inserted and replaced text.
+	 *
+	 * @param memoryLimit the maximal number of bytes, or <code>0</code> for no limit
+	 * @see #getMemoryUsage()
+	 * @since 3.15
+	 */
+	public void setMemoryLimit(long memoryLimit) {
+		fMemoryLimit= Math.max(0, memoryLimit);
+		enforceMemoryLimit();
+	}
+
+	/**
+	 * Returns the maximal number of bytes the text changes of the undo and redo history may
+	 * retain.
+	 *
+	 * @return the maximal number of bytes, or <code>0</code> if there is no limit
+	 * @since 3.15
+	 */
+	public long getMemoryLimit() {
+		return fMemoryLimit;
+	}
+
+	/**
+	 * Returns the estimated number of bytes retained by the text changes of the undo and redo
+	 * history of the document.
+	 *
+	 * @return the estimated memory usage of the undo history
+	 * @since 3.15
+	 */
+	public long getMemoryUsage() {
+		long usage= 0;
+		for (IUndoableOperation operation : fHistory.getUndoHistory(fUndoContext)) {
+			if (operation instanceof UndoableTextChange)
+				usage+= ((UndoableTextChange) operation).getMemoryUsage();
+		}
+		for (IUndoableOperation operation : fHistory.getRedoHistory(fUndoContext)) {
+			if (operation instanceof UndoableTextChange)
+				usage+= ((UndoableTextChange) operation).getMemoryUsage();
+		}
+		return usage;
+	}
+
+	/**
+	 * Discards the oldest changes of the undo history until the undo and redo history no longer
+	 * exceed the memory limit. The history only supports trimming both of them by count, so it is
+	 * temporarily limited to the number of changes to keep, but never below the number of redo
+	 * changes, which must not be lost.
+	 */
+	private void enforceMemoryLimit() {
+		if (fMemoryLimit == 0)
+			return;
+
+		IUndoableOperation[] redoOperations= fHistory.getRedoHistory(fUndoContext);
+		long usage= 0;
+		for (IUndoableOperation operation : redoOperations) {
+			if (operation instanceof UndoableTextChange)
+				usage+= ((UndoableTextChange) operation).getMemoryUsage();
+		}
+
+		IUndoableOperation[] operations= fHistory.getUndoHistory(fUndoContext);
+		int keep= 0;
+		for (int i= operations.length - 1; i >= 0; i--) {
+			if (operations[i] instanceof UndoableTextChange)
+				usage+= ((UndoableTextChange) operations[i]).getMemoryUsage();
+			if (usage > fMemoryLimit && keep > 0)
+				break;
+			keep++;
+		}
+		keep= Math.max(keep, redoOperations.length);
+		if (keep < operations.length) {
+			int limit= fHistory.getLimit(fUndoContext);
+			fHistory.setLimit(fUndoContext, keep);
+			fHistory.setLimit(fUndoContext, limit);
+		}
+	}
+
 	/**
 	 * Fires a document undo event to all registered document undo listeners.
 	 * Uses a robust iterator.
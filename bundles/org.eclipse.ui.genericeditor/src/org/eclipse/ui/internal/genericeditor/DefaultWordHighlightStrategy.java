@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,16 +15,19 @@ package org.eclipse.ui.internal.genericeditor;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
@@ -43,6 +46,9 @@ import org.eclipse.jface.viewers.IPostSelectionProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.internal.genericeditor.WordOccurrenceIndex.Occurrence;
 
 /**
  *
@@ -50,6 +56,8 @@ import org.eclipse.osgi.util.NLS;
  * anything in-between non-alphanumeric characters) and searches the document highlighting all like words.
  *
  * E.g. if your file contains "t^he dog in the bog" and you leave your caret at ^ you will get both instances of 'the' highlighted.
+ *
+ * The words are looked up in a {@link WordOccurrenceIndex} of the document, and searched in a background job. Occurrences in the visible lines are highlighted first.
  */
 public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReconcilingStrategyExtension, IPreferenceChangeListener {
 
@@ -58,14 +66,83 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 	private boolean enabled;
 	private ISourceViewer sourceViewer;
 	private IDocument document;
-
-	private static final String WORD_REGEXP = "\\w+"; //$NON-NLS-1$
-	private static final Pattern WORD_PATTERN = Pattern.compile(WORD_REGEXP, Pattern.UNICODE_CHARACTER_CLASS);
-	private static final Pattern CURRENT_WORD_START_PATTERN = Pattern.compile(WORD_REGEXP + "$", //$NON-NLS-1$
-			Pattern.UNICODE_CHARACTER_CLASS);
+	private WordOccurrenceIndex index;
 
 	private Annotation[] fOccurrenceAnnotations = null;
 
+	private HighlightJob highlightJob;
+
+	/**
+	 * Searches the occurrences of a word in the index, first in the visible lines and then in the whole document, and
+	 * highlights them in the UI thread.
+	 */
+	private class HighlightJob extends Job {
+
+		private final WordOccurrenceIndex wordIndex;
+		private final String word;
+		private final long modificationStamp;
+		private final int topLine;
+		private final int bottomLine;
+		private final Display display;
+
+		HighlightJob(WordOccurrenceIndex wordIndex, String word, int topLine, int bottomLine, Display display) {
+			super("Highlight word occurrences"); //$NON-NLS-1$
+			this.wordIndex = wordIndex;
+			this.word = word;
+			this.modificationStamp = wordIndex.getModificationStamp();
+			this.topLine = topLine;
+			this.bottomLine = bottomLine;
+			this.display = display;
+			setSystem(true);
+			setPriority(INTERACTIVE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (!wordIndex.build(monitor)) {
+				return Status.CANCEL_STATUS;
+			}
+			int count = wordIndex.getOccurrenceCount(word);
+			if (count < 2) {
+				highlight(null);
+				return Status.OK_STATUS;
+			}
+			List<Occurrence> occurrences = wordIndex.findOccurrences(word, topLine, bottomLine, modificationStamp, monitor);
+			if (occurrences != null && occurrences.size() < count) {
+				if (!occurrences.isEmpty()) {
+					highlight(occurrences);
+				}
+				occurrences = wordIndex.findOccurrences(word, 0, Integer.MAX_VALUE, modificationStamp, monitor);
+			}
+			if (occurrences == null || monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			highlight(occurrences);
+			return Status.OK_STATUS;
+		}
+
+		/**
+		 * Highlights the given occurrences in the UI thread, unless the document has been modified or the selection
+		 * changed in the meantime.
+		 *
+		 * @param occurrences the occurrences, or <code>null</code> to remove the highlights
+		 */
+		private void highlight(List<Occurrence> occurrences) {
+			if (display.isDisposed()) {
+				return;
+			}
+			display.asyncExec(() -> {
+				if (highlightJob == this && index == wordIndex && wordIndex.getModificationStamp() == modificationStamp) {
+					if (occurrences != null) {
+						applyHighlights(word, occurrences);
+					} else {
+						removeOccurrenceAnnotations();
+					}
+				}
+			});
+		}
+	}
+
 	private ISelectionChangedListener editorSelectionChangedListener = event -> applyHighlights(event.getSelection());
 
 	private void applyHighlights(ISelection selection) {
@@ -73,33 +150,46 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 			return;
 		}
 		ITextSelection textSelection = (ITextSelection) selection;
-		if (sourceViewer == null || !enabled) {
+		cancelHighlightJob();
+		if (sourceViewer == null || !enabled || index == null) {
 			removeOccurrenceAnnotations();
 			return;
 		}
 
-		String text = document.get();
 		int offset = textSelection.getOffset();
 		if (sourceViewer instanceof ITextViewerExtension5) {
 			offset = ((ITextViewerExtension5) sourceViewer).widgetOffset2ModelOffset(textSelection.getOffset());
 		}
 
-		String word = findCurrentWord(text, offset);
-		if (word == null) {
+		String word = WordOccurrenceIndex.findWordAt(document, offset);
+		StyledText textWidget = sourceViewer.getTextWidget();
+		if (word == null || textWidget == null) {
 			removeOccurrenceAnnotations();
 			return;
 		}
 
-		Matcher m = WORD_PATTERN.matcher(text);
-		Map<Annotation, Position> annotationMap = new HashMap<>();
-		while (m.find()) {
-			if (m.group().equals(word)) {
-				annotationMap.put(new Annotation(ANNOTATION_TYPE, false, NLS.bind(Messages.DefaultWordHighlightStrategy_OccurrencesOf, word)), new Position(m.start(), m.end() - m.start()));
-			}
+		highlightJob = new HighlightJob(index, word, sourceViewer.getTopIndex(), sourceViewer.getBottomIndex(), textWidget.getDisplay());
+		highlightJob.schedule();
+	}
+
+	private void cancelHighlightJob() {
+		if (highlightJob != null) {
+			highlightJob.cancel();
+			highlightJob = null;
 		}
+	}
 
-		if (annotationMap.size() < 2) {
-			removeOccurrenceAnnotations();
+	private void applyHighlights(String word, List<Occurrence> occurrences) {
+		if (sourceViewer == null || !enabled) {
+			return;
+		}
+		Map<Annotation, Position> annotationMap = new HashMap<>();
+		try {
+			for (Occurrence occurrence : occurrences) {
+				int offset = document.getLineOffset(occurrence.line()) + occurrence.column();
+				annotationMap.put(new Annotation(ANNOTATION_TYPE, false, NLS.bind(Messages.DefaultWordHighlightStrategy_OccurrencesOf, word)), new Position(offset, occurrence.length()));
+			}
+		} catch (BadLocationException e) {
 			return;
 		}
 
@@ -123,30 +213,6 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 		}
 	}
 
-	private static String findCurrentWord(String text, int offset) {
-		if (offset < 0 || offset >= text.length()) {
-			return null;
-		}
-		String wordStart = null;
-		String wordEnd = null;
-
-		String substring = text.substring(0, offset);
-		Matcher m = CURRENT_WORD_START_PATTERN.matcher(substring);
-		if (m.find()) {
-			wordStart = m.group();
-		}
-		substring = text.substring(offset);
-		m = WORD_PATTERN.matcher(substring);
-		if (m.lookingAt()) {
-			wordEnd = m.group();
-		}
-		if (wordStart != null && wordEnd != null)
-			return wordStart + wordEnd;
-		if (wordStart != null)
-			return wordStart;
-		return wordEnd;
-	}
-
 	public void install(ITextViewer viewer) {
 		if (!(viewer instanceof ISourceViewer)) {
 			return;
@@ -159,6 +225,11 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 	}
 
 	public void uninstall() {
+		cancelHighlightJob();
+		if (index != null) {
+			index.dispose();
+			index = null;
+		}
 		if (sourceViewer != null) {
 			((IPostSelectionProvider) sourceViewer.getSelectionProvider()).removePostSelectionChangedListener(editorSelectionChangedListener);
 		}
@@ -172,6 +243,7 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 			if (enabled) {
 				initialReconcile();
 			} else {
+				cancelHighlightJob();
 				removeOccurrenceAnnotations();
 			}
 		}
@@ -216,7 +288,14 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 	}
 
 	@Override public void setDocument(IDocument document) {
+		if (index != null) {
+			index.dispose();
+			index = null;
+		}
 		this.document = document;
+		if (document != null) {
+			index = new WordOccurrenceIndex(document);
+		}
 	}
 
 	@Override public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
@@ -0,0 +1,326 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * - Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.genericeditor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.ConfigurableLineTracker;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.ILineTracker;
+
+/**
+ * An index of the words of a document, where words are defined as in {@link DefaultWordHighlightStrategy}. The index
+ * is built from a snapshot of the document in the background and then kept up to date from the document events, only
+ * the lines touched by a change are split into words again.
+ *
+ * The index may be built and queried from any thread.
+ */
+class WordOccurrenceIndex implements IDocumentListener {
+
+	/**
+	 * An occurrence of a word in the document.
+	 */
+	record Occurrence(int line, int column, int length) {
+	}
+
+	/**
+	 * A word of the document along with the number of its occurrences. There is a single instance per word, so that
+	 * lines can be searched by identity.
+	 */
+	private static final class Word {
+		final String text;
+		int count;
+
+		Word(String text) {
+			this.text = text;
+		}
+	}
+
+	/**
+	 * The words of a line and the columns they start at.
+	 */
+	private static final class LineWords {
+		static final LineWords EMPTY = new LineWords(new Word[0], new int[0]);
+
+		final Word[] words;
+		final int[] columns;
+
+		LineWords(Word[] words, int[] columns) {
+			this.words = words;
+			this.columns = columns;
+		}
+	}
+
+	/**
+	 * Splits lines into words, collecting the words in a map.
+	 */
+	private static final class Tokenizer {
+		private final Map<String, Word> words;
+		private final Matcher matcher = WORD_PATTERN.matcher(""); //$NON-NLS-1$
+		private Word[] lineWords = new Word[16];
+		private int[] columns = new int[16];
+
+		Tokenizer(Map<String, Word> words) {
+			this.words = words;
+		}
+
+		LineWords tokenize(CharSequence text, int start, int end) {
+			matcher.reset(text).region(start, end);
+			int size = 0;
+			while (matcher.find()) {
+				if (size == lineWords.length) {
+					lineWords = Arrays.copyOf(lineWords, size * 2);
+					columns = Arrays.copyOf(columns, size * 2);
+				}
+				Word word = words.computeIfAbsent(matcher.group(), Word::new);
+				word.count++;
+				lineWords[size] = word;
+				columns[size] = matcher.start() - start;
+				size++;
+			}
+			matcher.reset(""); //$NON-NLS-1$
+			if (size == 0) {
+				return LineWords.EMPTY;
+			}
+			return new LineWords(Arrays.copyOf(lineWords, size), Arrays.copyOf(columns, size));
+		}
+	}
+
+	private static final Pattern WORD_PATTERN = Pattern.compile("\\w+", Pattern.UNICODE_CHARACTER_CLASS); //$NON-NLS-1$
+
+	/** Number of lines searched between checks for cancellation. */
+	private static final int CANCEL_CHECK_INTERVAL = 1000;
+
+	private final IDocument document;
+
+	/** The words per line, <code>null</code> if the index has not been built. */
+	private List<LineWords> lines;
+	private Map<String, Word> words;
+	private Tokenizer tokenizer;
+
+	private long modificationStamp;
+	private boolean changing;
+	private int firstChangedLine;
+	private int lastChangedLine;
+
+	WordOccurrenceIndex(IDocument document) {
+		this.document = document;
+		document.addDocumentListener(this);
+	}
+
+	void dispose() {
+		document.removeDocumentListener(this);
+		synchronized (this) {
+			reset();
+		}
+	}
+
+	private void reset() {
+		lines = null;
+		words = null;
+		tokenizer = null;
+	}
+
+	/**
+	 * Returns the word at the given offset of the given document, including a word ending at the offset.
+	 *
+	 * @param document the document
+	 * @param offset the document offset
+	 * @return the word, or <code>null</code> if there is none
+	 */
+	static String findWordAt(IDocument document, int offset) {
+		if (offset < 0 || offset >= document.getLength()) {
+			return null;
+		}
+		try {
+			int line = document.getLineOfOffset(offset);
+			int lineOffset = document.getLineOffset(line);
+			Matcher m = WORD_PATTERN.matcher(document.get(lineOffset, document.getLineLength(line)));
+			int column = offset - lineOffset;
+			while (m.find() && m.start() <= column) {
+				if (column <= m.end()) {
+					return m.group();
+				}
+			}
+		} catch (BadLocationException e) {
+			// fall through
+		}
+		return null;
+	}
+
+	/**
+	 * @return a stamp which changes whenever the document is modified
+	 */
+	synchronized long getModificationStamp() {
+		return modificationStamp;
+	}
+
+	/**
+	 * Builds the index from a snapshot of the document, unless it has already been built. The snapshot is discarded
+	 * if the document is modified while the index is built.
+	 *
+	 * @param monitor the progress monitor to check for cancellation
+	 * @return <code>true</code> if the index is built
+	 */
+	boolean build(IProgressMonitor monitor) {
+		long stamp;
+		synchronized (this) {
+			if (lines != null) {
+				return true;
+			}
+			if (changing) {
+				return false;
+			}
+			stamp = modificationStamp;
+		}
+
+		List<LineWords> builtLines;
+		Map<String, Word> builtWords = new HashMap<>();
+		try {
+			String text = document.get();
+			ILineTracker lineTracker = new ConfigurableLineTracker(document.getLegalLineDelimiters());
+			lineTracker.set(text);
+			int numberOfLines = lineTracker.getNumberOfLines();
+			builtLines = new ArrayList<>(numberOfLines);
+			Tokenizer lineTokenizer = new Tokenizer(builtWords);
+			for (int line = 0; line < numberOfLines; line++) {
+				if (line % CANCEL_CHECK_INTERVAL == 0 && monitor.isCanceled()) {
+					return false;
+				}
+				int offset = lineTracker.getLineOffset(line);
+				builtLines.add(lineTokenizer.tokenize(text, offset, offset + lineTracker.getLineLength(line)));
+			}
+		} catch (BadLocationException | RuntimeException e) {
+			// the document has been modified concurrently
+			return false;
+		}
+
+		synchronized (this) {
+			if (lines == null && !changing && modificationStamp == stamp
+					&& builtLines.size() == document.getNumberOfLines()) {
+				lines = builtLines;
+				words = builtWords;
+				tokenizer = new Tokenizer(builtWords);
+			}
+			return lines != null;
+		}
+	}
+
+	/**
+	 * @param word the word
+	 * @return the number of occurrences of the word in the document, or <code>-1</code> if the index has not been built
+	 */
+	synchronized int getOccurrenceCount(String word) {
+		if (lines == null) {
+			return -1;
+		}
+		Word entry = words.get(word);
+		return entry != null ? entry.count : 0;
+	}
+
+	/**
+	 * Returns the occurrences of the given word in the given range of lines.
+	 *
+	 * @param word the word
+	 * @param firstLine the first line to search
+	 * @param lastLine the last line to search
+	 * @param modificationStamp the modification stamp the caller expects the document to have
+	 * @param monitor the progress monitor to check for cancellation
+	 * @return the occurrences, or <code>null</code> if the index has not been built, the document has been modified or
+	 *         the search was canceled
+	 */
+	synchronized List<Occurrence> findOccurrences(String word, int firstLine, int lastLine, long modificationStamp, IProgressMonitor monitor) {
+		if (lines == null || this.modificationStamp != modificationStamp) {
+			return null;
+		}
+		List<Occurrence> occurrences = new ArrayList<>();
+		Word entry = words.get(word);
+		if (entry == null) {
+			return occurrences;
+		}
+		int end = Math.min(lastLine, lines.size() - 1);
+		for (int line = Math.max(firstLine, 0); line <= end; line++) {
+			if (line % CANCEL_CHECK_INTERVAL == 0 && monitor.isCanceled()) {
+				return null;
+			}
+			LineWords lineWords = lines.get(line);
+			for (int i = 0; i < lineWords.words.length; i++) {
+				if (lineWords.words[i] == entry) {
+					occurrences.add(new Occurrence(line, lineWords.columns[i], word.length()));
+				}
+			}
+		}
+		return occurrences;
+	}
+
+	@Override
+	public synchronized void documentAboutToBeChanged(DocumentEvent event) {
+		changing = true;
+		if (lines == null) {
+			return;
+		}
+		try {
+			// the line before may change as well when line delimiters are merged
+			firstChangedLine = Math.max(document.getLineOfOffset(event.getOffset()) - 1, 0);
+			lastChangedLine = document.getLineOfOffset(event.getOffset() + event.getLength());
+		} catch (BadLocationException e) {
+			reset();
+		}
+	}
+
+	@Override
+	public synchronized void documentChanged(DocumentEvent event) {
+		changing = false;
+		modificationStamp++;
+		if (lines == null) {
+			return;
+		}
+		try {
+			String text = event.getText();
+			int end = event.getOffset() + (text != null ? text.length() : 0);
+			int lastLine = document.getLineOfOffset(end);
+			List<LineWords> changed = lines.subList(firstChangedLine, lastChangedLine + 1);
+			for (LineWords lineWords : changed) {
+				for (Word word : lineWords.words) {
+					if (--word.count == 0) {
+						words.remove(word.text);
+					}
+				}
+			}
+			changed.clear();
+			List<LineWords> tokenized = new ArrayList<>(lastLine - firstChangedLine + 1);
+			for (int line = firstChangedLine; line <= lastLine; line++) {
+				int length = document.getLineLength(line);
+				tokenized.add(tokenizer.tokenize(document.get(document.getLineOffset(line), length), 0, length));
+			}
+			lines.addAll(firstChangedLine, tokenized);
+			if (lines.size() != document.getNumberOfLines()) {
+				reset();
+			}
+		} catch (BadLocationException | IndexOutOfBoundsException e) {
+			// rebuilt on next use
+			reset();
+		}
+	}
+}
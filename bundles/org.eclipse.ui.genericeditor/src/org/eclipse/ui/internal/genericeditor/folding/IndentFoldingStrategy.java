@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2023 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,19 +17,19 @@ package org.eclipse.ui.internal.genericeditor.folding;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
-import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.projection.IProjectionListener;
 import org.eclipse.jface.text.source.projection.ProjectionAnnotation;
 import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
@@ -50,6 +50,26 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 	private ProjectionAnnotationModel projectionAnnotationModel;
 	private final String lineStartsWithKeyword;
 
+	/**
+	 * Tracks the range of the document changed since the last reconcile, in
+	 * coordinates of the current document. The dirty regions handed to the
+	 * reconciler are not updated by later changes, so they are not used to compute
+	 * the lines to fold again.
+	 */
+	private final IDocumentListener documentListener = new IDocumentListener() {
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// nothing to do
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			addChangedRange(event);
+		}
+	};
+	private int changedStart = -1;
+	private int changedEnd = -1;
+
 	public IndentFoldingStrategy() {
 		this(null);
 	}
@@ -143,7 +163,63 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 
 	@Override
 	public void setDocument(IDocument document) {
+		if (this.document != null) {
+			this.document.removeDocumentListener(documentListener);
+		}
 		this.document = document;
+		if (document != null) {
+			document.addDocumentListener(documentListener);
+		}
+		synchronized (documentListener) {
+			changedStart = -1;
+			changedEnd = -1;
+		}
+	}
+
+	private void addChangedRange(DocumentEvent event) {
+		int offset = event.getOffset();
+		int end = offset + event.getLength();
+		int textLength = event.getText() != null ? event.getText().length() : 0;
+		int delta = textLength - event.getLength();
+		synchronized (documentListener) {
+			if (changedStart == -1) {
+				changedStart = offset;
+				changedEnd = offset + textLength;
+			} else {
+				changedStart = Math.min(changedStart, offset);
+				changedEnd = Math.max(changedEnd >= end ? changedEnd + delta : Math.min(changedEnd, offset), offset + textLength);
+			}
+		}
+	}
+
+	/**
+	 * Makes the next reconcile compute the folding annotations of the whole
+	 * document.
+	 */
+	private void markAllChanged() {
+		IDocument thisDocument = document;
+		synchronized (documentListener) {
+			changedStart = 0;
+			changedEnd = thisDocument != null ? thisDocument.getLength() : 0;
+		}
+	}
+
+	/**
+	 * Returns the range of the document changed since the last call and resets it.
+	 *
+	 * @return the offset and the end offset of the changed range, or
+	 *         <code>null</code> if the document did not change
+	 */
+	private int[] takeChangedRange() {
+		synchronized (documentListener) {
+			if (changedStart == -1) {
+				return null;
+			}
+			int[] range = { changedStart, changedEnd };
+			changedStart = -1;
+			changedEnd = -1;
+			return range;
+		}
 	}
 
 	@Override
@@ -156,6 +232,7 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 		if (viewer != null) {
 			projectionAnnotationModel = viewer.getProjectionAnnotationModel();
 		}
+		markAllChanged();
 	}
 
 	private static class LineIndent {
@@ -170,22 +247,42 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 
 	@Override
 	public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
+		if (projectionAnnotationModel == null) {
+			return;
+		}
+		int[] changedRange = takeChangedRange();
+		if (changedRange != null) {
+			reconcile(changedRange[0], changedRange[1]);
+		}
+	}
+
+	/**
+	 * Computes the folding annotations of the lines affected by a change of the
+	 * given range and replaces the folding annotations of these lines.
+	 * <p>
+	 * A folding region never extends over a non empty line which is not indented
+	 * and which does not start with the keyword, so only the lines between the
+	 * nearest such lines before and after the changed range are scanned. The other
+	 * folding annotations are left untouched, which keeps the projection viewer
+	 * from updating their folding regions.
+	 * </p>
+	 *
+	 * @param offset    the offset of the changed range
+	 * @param endOffset the end offset of the changed range
+	 */
+	private void reconcile(int offset, int endOffset) {
 		if (projectionAnnotationModel != null) {
 
 			// these are what are passed off to the annotation model to
 			// actually create and maintain the annotations
-			List<Annotation> modifications = new ArrayList<>();
-			List<FoldingAnnotation> deletions = new ArrayList<>();
-			List<FoldingAnnotation> existing = new ArrayList<>();
-			Map<Annotation, Position> additions = new HashMap<>();
-
-			// find and mark all folding annotations with length 0 for deletion
-			markInvalidAnnotationsForDeletion(dirtyRegion, deletions, existing);
+			Map<FoldingAnnotation, Position> annotations = new HashMap<>();
 
 			List<LineIndent> previousRegions = new ArrayList<>();
 
 			int tabSize = 1;
 			int minimumRangeSize = 1;
+			int startOffset;
+			int endOffsetOfBlock;
 			try {
 				var thisDocument = document;
 				if (thisDocument == null) {
@@ -193,29 +290,30 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 					return;
 				}
 
-				// Today we recompute annotation from the whole document each
-				// time.
-				// performance s good even with large document, but it should be
-				// better to loop for only DirtyRegion (and before/after)
-				// int offset = dirtyRegion.getOffset();
-				// int length = dirtyRegion.getLength();
-				// int startLine = 0; //document.getLineOfOffset(offset);
-				int endLine = thisDocument.getNumberOfLines() - 1; // startLine +
-																	// document.getNumberOfLines(offset,
-																	// length) - 1;
+				int documentLength = thisDocument.getLength();
+				int numberOfLines = thisDocument.getNumberOfLines();
+				int firstChangedLine = thisDocument.getLineOfOffset(Math.min(offset, documentLength));
+				int lastChangedLine = thisDocument.getLineOfOffset(Math.min(Math.max(offset, endOffset), documentLength));
+				int startLine = firstChangedLine - 1;
+				while (startLine >= 0 && !isBlockBoundary(thisDocument, startLine)) {
+					startLine--;
+				}
+				startLine = Math.max(startLine, 0);
+				int endLine = lastChangedLine + 1;
+				while (endLine < numberOfLines && !isBlockBoundary(thisDocument, endLine)) {
+					endLine++;
+				}
+				startOffset = thisDocument.getLineOffset(startLine);
+				endOffsetOfBlock = endLine < numberOfLines ? thisDocument.getLineOffset(endLine) : documentLength + 1;
 
 				// sentinel, to make sure there's at least one entry
-				previousRegions.add(new LineIndent(endLine + 1, -1));
+				previousRegions.add(new LineIndent(endLine, -1));
 
 				int lastLineWhichIsNotEmpty = 0;
 				int lineEmptyCount = 0;
 				Integer lastLineForKeyword = null;
-				int line = endLine;
-				for (line = endLine; line >= 0 && this.document != null; line--) {
-					int lineOffset = thisDocument.getLineOffset(line);
-					String delim = thisDocument.getLineDelimiter(line);
-					int lineLength = thisDocument.getLineLength(line) - (delim != null ? delim.length() : 0);
-					String lineContent = thisDocument.get(lineOffset, lineLength);
+				for (int line = endLine - 1; line >= startLine && this.document != null; line--) {
+					String lineContent = getLineContent(thisDocument, line);
 
 					LineState state = getLineState(lineContent, lastLineForKeyword);
 					switch (state) {
@@ -230,8 +328,7 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 						lineEmptyCount++;
 						break;
 					default:
-						addAnnotationForKeyword(modifications, deletions, existing, additions,
-								line + 1 + lineEmptyCount, lastLineForKeyword);
+						addAnnotationForKeyword(annotations, line + 1 + lineEmptyCount, lastLineForKeyword);
 						lastLineForKeyword = null;
 						lineEmptyCount = 0;
 						lastLineWhichIsNotEmpty = line;
@@ -251,7 +348,7 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 							// new folding range
 							int endLineNumber = previous.line - 1;
 							if (endLineNumber - line >= minimumRangeSize) {
-								updateAnnotation(modifications, deletions, existing, additions, line, endLineNumber);
+								updateAnnotation(annotations, line, endLineNumber);
 							}
 						}
 						if (previous.indent == indent) {
@@ -262,32 +359,52 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 						}
 					}
 				}
-				addAnnotationForKeyword(modifications, deletions, existing, additions, lastLineWhichIsNotEmpty,
-						lastLineForKeyword);
+				addAnnotationForKeyword(annotations, lastLineWhichIsNotEmpty, lastLineForKeyword);
 			} catch (BadLocationException e) {
-				// should never done
-				e.printStackTrace();
+				// the document has been changed meanwhile, compute the folding
+				// again once the reconciler processes this change
+				markAllChanged();
+				return;
 			}
 
 			// be sure projection has not been disabled
-			if (projectionAnnotationModel != null) {
-				if (!existing.isEmpty()) {
-					deletions.addAll(existing);
-				}
-				// send the calculated updates to the annotations to the
-				// annotation model
-				projectionAnnotationModel.modifyAnnotations(deletions.toArray(new Annotation[1]), additions,
-						modifications.toArray(new Annotation[0]));
+			ProjectionAnnotationModel model = projectionAnnotationModel;
+			if (model != null) {
+				// send the calculated annotations of the block to the annotation
+				// model which only reports the differences
+				model.replaceAnnotations(startOffset, endOffsetOfBlock - startOffset, annotations,
+						FoldingAnnotation.class::isInstance);
 			}
 		}
 
 	}
 
-	private void addAnnotationForKeyword(List<Annotation> modifications, List<FoldingAnnotation> deletions,
-			List<FoldingAnnotation> existing, Map<Annotation, Position> additions, int startLine,
+	/**
+	 * Returns whether no folding region extends over the given line, which is the
+	 * case for a non empty line which is not indented and which does not start
+	 * with the keyword.
+	 *
+	 * @param document the document.
+	 * @param line     the line index.
+	 * @return <code>true</code> if no folding region extends over the line.
+	 */
+	private boolean isBlockBoundary(IDocument document, int line) throws BadLocationException {
+		String lineContent = getLineContent(document, line);
+		return computeIndentLevel(lineContent, 1) == 0
+				&& getLineState(lineContent, null) != LineState.StartWithKeyWord;
+	}
+
+	private static String getLineContent(IDocument document, int line) throws BadLocationException {
+		int lineOffset = document.getLineOffset(line);
+		String delim = document.getLineDelimiter(line);
+		int lineLength = document.getLineLength(line) - (delim != null ? delim.length() : 0);
+		return document.get(lineOffset, lineLength);
+	}
+
+	private void addAnnotationForKeyword(Map<FoldingAnnotation, Position> annotations, int startLine,
 			Integer lastLineForKeyword) throws BadLocationException {
 		if (lastLineForKeyword != null) {
-			updateAnnotation(modifications, deletions, existing, additions, startLine, lastLineForKeyword);
+			updateAnnotation(annotations, startLine, lastLineForKeyword);
 		}
 	}
 
@@ -345,113 +462,17 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 	}
 
 	/**
-	 * Given a {@link DirtyRegion} returns an {@link Iterator} of the already
-	 * existing annotations in that region.
-	 *
-	 * @param dirtyRegion the {@link DirtyRegion} to check for existing annotations
-	 *                    in
+	 * Adds a folding annotation for the given lines.
 	 *
-	 * @return an {@link Iterator} over the annotations in the given
-	 *         {@link DirtyRegion}. The iterator could have no annotations in it. Or
-	 *         <code>null</code> if projection has been disabled.
-	 */
-	private Iterator<Annotation> getAnnotationIterator(DirtyRegion dirtyRegion) {
-		Iterator<Annotation> annoIter = null;
-		// be sure project has not been disabled
-		if (projectionAnnotationModel != null) {
-			// workaround for Platform Bug 299416
-			annoIter = projectionAnnotationModel.getAnnotationIterator(0, document.getLength(), false, false);
-		}
-		return annoIter;
-	}
-
-	/**
-	 * Update annotations.
-	 *
-	 * @param modifications the folding annotations to update.
-	 * @param deletions     the folding annotations to delete.
-	 * @param existing      the existing folding annotations.
-	 * @param additions     annoation to add
+	 * @param annotations   the folding annotations of the scanned lines
 	 * @param line          the line index
 	 * @param endLineNumber the end line number
 	 */
-	private void updateAnnotation(List<Annotation> modifications, List<FoldingAnnotation> deletions,
-			List<FoldingAnnotation> existing, Map<Annotation, Position> additions, int line, Integer endLineNumber)
+	private void updateAnnotation(Map<FoldingAnnotation, Position> annotations, int line, Integer endLineNumber)
 			throws BadLocationException {
 		int startOffset = document.getLineOffset(line);
 		int endOffset = document.getLineOffset(endLineNumber) + document.getLineLength(endLineNumber);
-		Position newPos = new Position(startOffset, endOffset - startOffset);
-		if (!existing.isEmpty()) {
-			FoldingAnnotation existingAnnotation = existing.remove(existing.size() - 1);
-			updateAnnotations(existingAnnotation, newPos, modifications, deletions);
-		} else {
-			additions.put(new FoldingAnnotation(false), newPos);
-		}
-	}
-
-	/**
-	 * Update annotations.
-	 *
-	 * @param existingAnnotation the existing annotations that need to be updated
-	 *                           based on the given dirtied IndexRegion
-	 * @param newPos             the new position that caused the annotations need
-	 *                           for updating and null otherwise.
-	 * @param modifications      the list of annotations to be modified
-	 * @param deletions          the list of annotations to be deleted
-	 */
-	protected void updateAnnotations(Annotation existingAnnotation, Position newPos, List<Annotation> modifications,
-			List<FoldingAnnotation> deletions) {
-		if (existingAnnotation instanceof FoldingAnnotation) {
-			FoldingAnnotation foldingAnnotation = (FoldingAnnotation) existingAnnotation;
-			Position oldPos = projectionAnnotationModel.getPosition(foldingAnnotation);
-
-			// if a new position can be calculated then update the position of
-			// the annotation,
-			// else the annotation needs to be deleted
-			if (oldPos != null && newPos != null && newPos.length > 0 && projectionAnnotationModel != null) {
-				// only update the position if we have to
-				if (!newPos.equals(oldPos)) {
-					oldPos.setOffset(newPos.offset);
-					oldPos.setLength(newPos.length);
-					modifications.add(foldingAnnotation);
-				}
-			} else {
-				deletions.add(foldingAnnotation);
-			}
-		}
-	}
-
-	/**
-	 * <p>
-	 * Searches the given {@link DirtyRegion} for annotations that now have a length
-	 * of 0. This is caused when something that was being folded has been deleted.
-	 * These {@link FoldingAnnotation}s are then added to the {@link List} of
-	 * {@link FoldingAnnotation}s to be deleted
-	 * </p>
-	 *
-	 * @param dirtyRegion find the now invalid {@link FoldingAnnotation}s in this
-	 *                    {@link DirtyRegion}
-	 * @param deletions   the current list of {@link FoldingAnnotation}s marked for
-	 *                    deletion that the newly found invalid
-	 *                    {@link FoldingAnnotation}s will be added to
-	 */
-	protected void markInvalidAnnotationsForDeletion(DirtyRegion dirtyRegion, List<FoldingAnnotation> deletions,
-			List<FoldingAnnotation> existing) {
-		Iterator<Annotation> iter = getAnnotationIterator(dirtyRegion);
-		if (iter != null) {
-			while (iter.hasNext()) {
-				Annotation anno = iter.next();
-				if (anno instanceof FoldingAnnotation) {
-					FoldingAnnotation folding = (FoldingAnnotation) anno;
-					Position pos = projectionAnnotationModel.getPosition(anno);
-					if (pos.length == 0) {
-						deletions.add(folding);
-					} else {
-						existing.add(folding);
-					}
-				}
-			}
-		}
+		annotations.put(new FoldingAnnotation(false), new Position(startOffset, endOffset - startOffset));
 	}
 
 	@Override
@@ -467,6 +488,7 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 
 	@Override
 	public void initialReconcile() {
-		reconcile(new DirtyRegion(0, document.getLength(), DirtyRegion.INSERT, document.get()), null);
+		takeChangedRange();
+		reconcile(0, document.getLength());
 	}
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -247,7 +247,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	private Thread fThread;
 	private DocumentEvent fLastUIEvent;
 
-	private RangeDifferenceFactory fRangeDiffFactory= new RangeDifferenceFactory();
+	private static final RangeDifferenceFactory RANGE_DIFF_FACTORY= new RangeDifferenceFactory();
 
 
 	/**
@@ -647,7 +647,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 				DocumentEquivalenceClass rightEquivalent= new DocumentEquivalenceClass(actual, hash);
 				fRightEquivalent= rightEquivalent;
 				IRangeComparator act= new DocEquivalenceComparator(rightEquivalent, null);
-				ArrayList<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, monitor, ref, act));
+				ArrayList<QuickDiffRangeDifference> diffs= findRangesTrimmed(monitor, leftEquivalent, rightEquivalent, ref, act);
 				// 7:	Reset the model to the just gotten differences
 				// 		re-inject stored events to get up to date.
 				synchronized (DocumentLineDiffer.this) {
@@ -1024,7 +1024,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 //					">\n\n<" + right.get(rightRegion.getOffset(), rightRegion.getLength()) + ">\n"); //$NON-NLS-1$ //$NON-NLS-2$
 
 		// compare
-		List<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, null, reference, change));
+		List<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(RANGE_DIFF_FACTORY, null, reference, change));
 		if (diffs.isEmpty()) {
 			diffs.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, 0, 0, 0, 0));
 		}
@@ -1155,6 +1155,80 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		return new ArrayList(Arrays.asList(ranges));
 	}
 
+	/**
+	 * Computes the differences between the two documents like
+	 * {@link RangeDifferencer#findRanges(AbstractRangeDifferenceFactory, IProgressMonitor, IRangeComparator, IRangeComparator)},
+	 * but only runs the differencer on the lines between the common prefix and suffix of the
+	 * documents. Usually most of a document is unchanged, so this keeps the quadratic part of the
+	 * differencer small for large documents.
+	 * <p>
+	 * Public for testing only.
+	 * </p>
+	 *
+	 * @param monitor the progress monitor, may be <code>null</code>
+	 * @param left the equivalence class of the reference document
+	 * @param right the equivalence class of the actual document
+	 * @param reference the comparator for the whole reference document
+	 * @param actual the comparator for the whole actual document
+	 * @return the differences covering both documents entirely
+	 */
+	public static ArrayList<QuickDiffRangeDifference> findRangesTrimmed(IProgressMonitor monitor, DocumentEquivalenceClass left, DocumentEquivalenceClass right, IRangeComparator reference, IRangeComparator actual) {
+		int leftCount= left.getCount();
+		int rightCount= right.getCount();
+		int max= Math.min(leftCount, rightCount);
+
+		int prefix= 0;
+		while (prefix < max && left.getHash(prefix).equals(right.getHash(prefix)))
+			prefix++;
+
+		int suffix= 0;
+		while (suffix < max - prefix && left.getHash(leftCount - 1 - suffix).equals(right.getHash(rightCount - 1 - suffix)))
+			suffix++;
+
+		if (prefix == 0 && suffix == 0)
+			return asQuickDiffRangeDifference(RangeDifferencer.findRanges(RANGE_DIFF_FACTORY, monitor, reference, actual));
+
+		ArrayList<QuickDiffRangeDifference> diffs= new ArrayList<>();
+		if (prefix > 0)
+			diffs.add(new QuickDiffRangeDifference(RangeDifference.NOCHANGE, 0, prefix, 0, prefix));
+
+		int leftMiddle= leftCount - prefix - suffix;
+		int rightMiddle= rightCount - prefix - suffix;
+		if (leftMiddle > 0 || rightMiddle > 0) {
+			IRangeComparator leftComparator= new DocEquivalenceComparator(left, new LineRange(prefix, leftMiddle));
+			IRangeComparator rightComparator= new DocEquivalenceComparator(right, new LineRange(prefix, rightMiddle));
+			for (QuickDiffRangeDifference d : asQuickDiffRangeDifference(RangeDifferencer.findRanges(RANGE_DIFF_FACTORY, monitor, leftComparator, rightComparator))) {
+				if (d.kind() == RangeDifference.NOCHANGE && d.leftLength() == 0 && d.rightLength() == 0)
+					continue;
+				d.shiftLeft(prefix);
+				d.shiftRight(prefix);
+				appendRange(diffs, d);
+			}
+		}
+
+		if (suffix > 0)
+			appendRange(diffs, new QuickDiffRangeDifference(RangeDifference.NOCHANGE, rightCount - suffix, suffix, leftCount - suffix, suffix));
+
+		return diffs;
+	}
+
+	/**
+	 * Appends a difference to the list, merging adjacent unchanged ranges.
+	 *
+	 * @param diffs the list of differences
+	 * @param d the difference to append
+	 */
+	private static void appendRange(List<QuickDiffRangeDifference> diffs, QuickDiffRangeDifference d) {
+		if (d.kind() == RangeDifference.NOCHANGE && !diffs.isEmpty()) {
+			QuickDiffRangeDifference last= diffs.get(diffs.size() - 1);
+			if (last.kind() == RangeDifference.NOCHANGE) {
+				last.extendEnd(d.leftLength());
+				return;
+			}
+		}
+		diffs.add(d);
+	}
+
 	/**
 	 * Finds a consistent range of at least size before <code>line</code> in the left document.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2022 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -32,13 +33,13 @@ import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Predicate;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -148,9 +149,11 @@ public class ProgressManager extends ProgressProvider implements IProgressServic
 	private final Object pendingUpdatesMutex = new Object();
 
 	/**
-	 * Modification guarded by {@link #pendingUpdatesMutex}.
+	 * Modification guarded by {@link #pendingUpdatesMutex}. Jobs are refreshed
+	 * for every progress report, so only the job is remembered here and the
+	 * listeners to notify are determined when the updates are sent.
 	 */
-	private Map<JobInfo, Set<IJobProgressManagerListener>> pendingJobUpdates = new LinkedHashMap<>();
+	private Set<JobInfo> pendingJobUpdates = new LinkedHashSet<>();
 
 	/**
 	 * Modification guarded by {@link #pendingUpdatesMutex}.
@@ -160,7 +163,7 @@ public class ProgressManager extends ProgressProvider implements IProgressServic
 	/**
 	 * Modification guarded by {@link #pendingUpdatesMutex}.
 	 */
-	private Map<JobInfo, Set<IJobProgressManagerListener>> pendingJobRemoval = new LinkedHashMap<>();
+	private Set<JobInfo> pendingJobRemoval = new LinkedHashSet<>();
 
 	/**
 	 * Modification guarded by {@link #pendingUpdatesMutex}.
@@ -361,15 +364,15 @@ public class ProgressManager extends ProgressProvider implements IProgressServic
 	 */
 	/* Visible for testing */ public void notifyListeners() {
 		Set<GroupInfo> localPendingGroupUpdates, localPendingGroupRemoval;
-		Map<JobInfo, Set<IJobProgressManagerListener>> localPendingJobUpdates, localPendingJobAddition,
-				localPendingJobRemoval;
+		Set<JobInfo> localPendingJobUpdates, localPendingJobRemoval;
+		Map<JobInfo, Set<IJobProgressManagerListener>> localPendingJobAddition;
 		synchronized (pendingUpdatesMutex) {
 			localPendingJobUpdates = pendingJobUpdates;
-			pendingJobUpdates = new LinkedHashMap<>();
+			pendingJobUpdates = new LinkedHashSet<>();
 			localPendingGroupUpdates = pendingGroupUpdates;
 			pendingGroupUpdates = new LinkedHashSet<>();
 			localPendingJobRemoval = pendingJobRemoval;
-			pendingJobRemoval = new LinkedHashMap<>();
+			pendingJobRemoval = new LinkedHashSet<>();
 			localPendingGroupRemoval = pendingGroupRemoval;
 			pendingGroupRemoval = new LinkedHashSet<>();
 			localPendingJobAddition = pendingJobAddition;
@@ -380,17 +383,23 @@ public class ProgressManager extends ProgressProvider implements IProgressServic
 
 		// Adds all non null JobInfo#getGroupInfo to the list of groups to
 		// be refreshed
-		localPendingJobUpdates.entrySet().stream().map(e -> e.getKey().getGroupInfo()).filter(Objects::nonNull)
+		localPendingJobUpdates.stream().map(JobInfo::getGroupInfo).filter(Objects::nonNull)
 				.forEach(localPendingGroupUpdates::add);
 
-		localPendingJobUpdates.entrySet()
-				.forEach(e -> e.getValue().forEach(listener -> listener.refreshJobInfo(e.getKey())));
+		localPendingJobUpdates.forEach(info -> listeners.forEach(listener -> {
+			if (!isNeverDisplaying(info.getJob(), listener.showsDebug())) {
+				listener.refreshJobInfo(info);
+			}
+		}));
 
 		// refresh groups
 		localPendingGroupUpdates.forEach(groupInfo -> listeners.forEach(listener -> listener.refreshGroup(groupInfo)));
 
-		localPendingJobRemoval.entrySet()
-				.forEach(e -> e.getValue().forEach(listener -> listener.removeJob(e.getKey())));
+		localPendingJobRemoval.forEach(info -> listeners.forEach(listener -> {
+			if (!isNeverDisplaying(info.getJob(), listener.showsDebug())) {
+				listener.removeJob(info);
+			}
+		}));
 
 		localPendingGroupRemoval.forEach(group -> {
 			listeners.forEach(listener -> listener.removeGroup(group));
@@ -627,8 +636,7 @@ public class ProgressManager extends ProgressProvider implements IProgressServic
 	public void refreshJobInfo(JobInfo info) {
 		checkForStaleness(info.getJob());
 		synchronized (pendingUpdatesMutex) {
-			Predicate<IJobProgressManagerListener> predicate = listener -> !isNeverDisplaying(info.getJob(), listener.showsDebug());
-			rememberListenersForJob(info, pendingJobUpdates, predicate);
+			pendingJobUpdates.add(info);
 		}
 		uiRefreshThrottler.throttledExec();
 	}
@@ -657,8 +665,7 @@ public class ProgressManager extends ProgressProvider implements IProgressServic
 			info = progressFor(job).getJobInfo();
 			managedJobs.remove(job);
 			synchronized (pendingUpdatesMutex) {
-				Predicate<IJobProgressManagerListener> predicate = listener -> !isNeverDisplaying(info.getJob(), listener.showsDebug());
-				rememberListenersForJob(info, pendingJobRemoval, predicate);
+				pendingJobRemoval.add(info);
 			}
 			runnableMonitors.remove(job);
 		}
@@ -702,19 +709,20 @@ public class ProgressManager extends ProgressProvider implements IProgressServic
 		}
 
 		managedJobs.add(info.getJob());
+		// whether a job is shown depends on its state when it is added, so the
+		// listeners are determined now, but outside of the lock
+		List<IJobProgressManagerListener> addListeners = new ArrayList<>(listeners.size());
+		for (IJobProgressManagerListener listener : listeners) {
+			if (!isCurrentDisplaying(info.getJob(), listener.showsDebug())) {
+				addListeners.add(listener);
+			}
+		}
 		synchronized (pendingUpdatesMutex) {
-			Predicate<IJobProgressManagerListener> predicate = listener -> !isCurrentDisplaying(info.getJob(), listener.showsDebug());
-			rememberListenersForJob(info, pendingJobAddition, predicate);
+			pendingJobAddition.computeIfAbsent(info, k -> new LinkedHashSet<>()).addAll(addListeners);
 		}
 		uiRefreshThrottler.throttledExec();
 	}
 
-	private void rememberListenersForJob(JobInfo info, Map<JobInfo, Set<IJobProgressManagerListener>> listenersMap, Predicate<IJobProgressManagerListener> predicate) {
-		Set<IJobProgressManagerListener> localListeners = listenersMap.computeIfAbsent(info,
-				k -> new LinkedHashSet<>());
-		listeners.stream().filter(predicate).forEach(localListeners::add);
-	}
-
 	/**
 	 * Returns whether or not this job is currently displayable.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,6 +35,7 @@ import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -99,6 +100,11 @@ public abstract class QuickAccessContents {
 	 */
 	private static final String QUICK_ACCESS_COMMAND_ID = "org.eclipse.ui.window.quickAccess"; //$NON-NLS-1$
 
+	/**
+	 * Minimum number of elements of a provider to match them in parallel
+	 */
+	private static final int PARALLEL_MATCHING_THRESHOLD = 1000;
+
 	protected Text filterText;
 
 	private QuickAccessProvider[] providers;
@@ -422,7 +428,7 @@ public abstract class QuickAccessContents {
 		}
 
 		// Sort out the Previous Pick
-		List<String> prevPickIds = new ArrayList<>();
+		Set<String> prevPickIds = new HashSet<>();
 		for (Entry<QuickAccessProvider, List<QuickAccessElement>> entry : elementsForProviders.entrySet()) {
 			if (entry.getKey() instanceof PreviousPicksProvider) {
 				prevPickIds
@@ -456,7 +462,12 @@ public abstract class QuickAccessContents {
 			for (Entry<QuickAccessProvider, List<QuickAccessElement>> elementsPerProvider : elementsForProviders
 					.entrySet()) {
 				QuickAccessProvider provider = elementsPerProvider.getKey();
-				List<QuickAccessEntry> entries = elementsPerProvider.getValue().stream() //
+				List<QuickAccessElement> elements = elementsPerProvider.getValue();
+				// matching is independent per element, so large providers are matched in
+				// parallel unless their elements must be accessed in the UI thread
+				Stream<QuickAccessElement> elementStream = elements.size() >= PARALLEL_MATCHING_THRESHOLD
+						&& !provider.requiresUiAccess() ? elements.parallelStream() : elements.stream();
+				List<QuickAccessEntry> entries = elementStream //
 						.map(QuickAccessMatcher::new) //
 						.map(matcher -> matcher.match(finalFilter, provider)) //
 						.filter(Objects::nonNull) //
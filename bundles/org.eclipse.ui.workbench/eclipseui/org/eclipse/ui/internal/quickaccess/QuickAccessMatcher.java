@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -42,38 +42,58 @@ public final class QuickAccessMatcher {
 	private static final String PAR_END = "\\)"; //$NON-NLS-1$
 	private static final String ONE_CHAR = ".?"; //$NON-NLS-1$
 
+	/**
+	 * Characters that keep their regular expression meaning in the patterns
+	 * generated from a filter.
+	 */
+	private static final String REGEX_META_CHARS = "\\^$.|+[]{}"; //$NON-NLS-1$
+
+	/**
+	 * A filter together with the {@link Pattern} generated from it. The same
+	 * filter is matched against every element of every provider, so the last
+	 * pattern is shared by all matchers instead of being compiled per element.
+	 */
+	private static final class CompiledFilter {
+		final String filter;
+		final Pattern pattern;
+
+		CompiledFilter(String filter, Pattern pattern) {
+			this.filter = filter;
+			this.pattern = pattern;
+		}
+	}
+
 	// whitespaces filter and patterns
-	private String wsFilter;
-	private Pattern wsPattern;
+	private static volatile CompiledFilter wsCompiled;
 
 	/**
 	 * Get the existing {@link Pattern} for the given filter, or create a new one.
 	 * The generated pattern will replace whitespace with * to match all.
 	 */
-	private Pattern getWhitespacesPattern(String filter) {
-		if (wsPattern == null || !filter.equals(wsFilter)) {
-			wsFilter = filter;
+	private static Pattern getWhitespacesPattern(String filter) {
+		CompiledFilter compiled = wsCompiled;
+		if (compiled == null || !filter.equals(compiled.filter)) {
 			String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
 					.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
 			sFilter = String.format(".*(%s).*", sFilter.replaceAll(ANY_WS, ").*(")); //$NON-NLS-1$//$NON-NLS-2$
-			wsPattern = safeCompile(sFilter);
+			compiled = new CompiledFilter(filter, safeCompile(sFilter));
+			wsCompiled = compiled;
 		}
-		return wsPattern;
+		return compiled.pattern;
 	}
 
 	// wildcard filter and patterns
-	private String wcFilter;
-	private Pattern wcPattern;
+	private static volatile CompiledFilter wcCompiled;
 
 	/**
 	 * Get the existing {@link Pattern} for the given filter, or create a new one.
 	 * The generated pattern will handle '*' and '?' wildcards.
 	 */
-	private Pattern getWildcardsPattern(String filter) {
+	private static Pattern getWildcardsPattern(String filter) {
 		// squash consecutive **** into a single *
 		filter = filter.replaceAll("\\*+", "*"); //$NON-NLS-1$ //$NON-NLS-2$
-		if (wcPattern == null || !filter.equals(wcFilter)) {
-			wcFilter = filter;
+		CompiledFilter compiled = wcCompiled;
+		if (compiled == null || !filter.equals(compiled.filter)) {
 			String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
 					.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
 			// replace '*' and '?' with their matchers ").*(" and ").?("
@@ -99,9 +119,72 @@ public final class QuickAccessMatcher {
 			// remove empty capturing groups
 			sFilter = sFilter.replace("()", EMPTY_STR); //$NON-NLS-1$
 			//
-			wcPattern = safeCompile(sFilter);
+			compiled = new CompiledFilter(filter, safeCompile(sFilter));
+			wcCompiled = compiled;
 		}
-		return wcPattern;
+		return compiled.pattern;
+	}
+
+	/**
+	 * Cheap test whether the pattern generated from the given filter could match
+	 * the given label, done on the characters without running the regular
+	 * expression. Filters using regular expression characters other than
+	 * wildcards and parentheses are always considered a possible match.
+	 *
+	 * @return <code>false</code> if the pattern cannot match the label
+	 * @see #skipInOrder(String, int, String)
+	 */
+	static boolean mayMatchPattern(String filter, String label) {
+		for (int i = 0; i < filter.length(); i++) {
+			if (REGEX_META_CHARS.indexOf(filter.charAt(i)) != -1) {
+				return true;
+			}
+		}
+		return skipInOrder(filter, 0, label) == filter.length();
+	}
+
+	/**
+	 * Cheap test whether the filter could match the provider name combined with
+	 * the given label, either as a substring or as camel case.
+	 *
+	 * @return <code>false</code> if the filter cannot match the combined label
+	 * @see #skipInOrder(String, int, String)
+	 */
+	static boolean mayMatchCombined(String filter, String providerName, String label) {
+		return skipInOrder(filter, skipInOrder(filter, 0, providerName), label) == filter.length();
+	}
+
+	/**
+	 * Finds the characters of the filter, starting at the given index, in the
+	 * given text in the same order, ignoring case. Whitespace, wildcards and
+	 * parentheses of the filter are skipped. Non-ASCII characters may not map to
+	 * a single lower case character, so they are always considered found.
+	 *
+	 * @return the index of the first filter character not found in the text, the
+	 *         length of the filter if all of them were found
+	 */
+	private static int skipInOrder(String filter, int filterIndex, String text) {
+		int textIndex = 0;
+		int textLength = text.length();
+		int i = filterIndex;
+		for (; i < filter.length(); i++) {
+			char c = filter.charAt(i);
+			if (c > 0x7f) {
+				return filter.length();
+			}
+			if (Character.isWhitespace(c) || c == '*' || c == '?' || c == '(' || c == ')') {
+				continue;
+			}
+			char lower = Character.toLowerCase(c);
+			while (textIndex < textLength && Character.toLowerCase(text.charAt(textIndex)) != lower) {
+				textIndex++;
+			}
+			if (textIndex == textLength) {
+				break;
+			}
+			textIndex++;
+		}
+		return i;
 	}
 
 	/**
@@ -134,13 +217,15 @@ public final class QuickAccessMatcher {
 	 */
 	public QuickAccessEntry match(String filter, QuickAccessProvider providerForMatching) {
 		String matchLabel = element.getMatchLabel();
+		String lowerCaseMatchLabel = matchLabel.toLowerCase();
+		String label = element.getLabel();
 		// first occurrence of filter
-		int index = matchLabel.toLowerCase().indexOf(filter);
+		int index = lowerCaseMatchLabel.indexOf(filter);
 		if (index != -1) {
-			index = element.getLabel().toLowerCase().indexOf(filter);
+			index = label.toLowerCase().indexOf(filter);
 			if (index != -1) { // match actual label
-				int quality = matchLabel.toLowerCase().equals(filter) ? QuickAccessEntry.MATCH_PERFECT
-						: (matchLabel.toLowerCase().startsWith(filter) ? QuickAccessEntry.MATCH_EXCELLENT
+				int quality = lowerCaseMatchLabel.equals(filter) ? QuickAccessEntry.MATCH_PERFECT
+						: (lowerCaseMatchLabel.startsWith(filter) ? QuickAccessEntry.MATCH_EXCELLENT
 								: QuickAccessEntry.MATCH_GOOD);
 				return new QuickAccessEntry(element, providerForMatching,
 						new int[][] { { index, index + filter.length() - 1 } }, EMPTY_INDICES, quality);
@@ -149,21 +234,23 @@ public final class QuickAccessMatcher {
 					QuickAccessEntry.MATCH_PARTIAL);
 		}
 		//
-		Pattern p;
-		if (filter.contains("*") || filter.contains("?")) { //$NON-NLS-1$ //$NON-NLS-2$
-			// check for wildcards
-			p = getWildcardsPattern(filter);
-		} else {
-			// check for whitespaces
-			p = getWhitespacesPattern(filter);
+		Matcher m = null;
+		if (mayMatchPattern(filter, matchLabel)) {
+			Pattern p;
+			if (filter.contains("*") || filter.contains("?")) { //$NON-NLS-1$ //$NON-NLS-2$
+				// check for wildcards
+				p = getWildcardsPattern(filter);
+			} else {
+				// check for whitespaces
+				p = getWhitespacesPattern(filter);
+			}
+			m = p.matcher(matchLabel);
 		}
-		Matcher m = p.matcher(matchLabel);
 		// if matches, return an entry
-		if (m.matches()) {
+		if (m != null && m.matches()) {
 			// and highlight match on the label only
-			String label = element.getLabel();
 			if (!matchLabel.equals(label)) {
-				m = p.matcher(element.getLabel());
+				m = m.pattern().matcher(label);
 				if (!m.matches()) {
 					return new QuickAccessEntry(element, providerForMatching, EMPTY_INDICES, EMPTY_INDICES,
 							QuickAccessEntry.MATCH_GOOD);
@@ -180,6 +267,11 @@ public final class QuickAccessMatcher {
 			int quality = QuickAccessEntry.MATCH_EXCELLENT;
 			return new QuickAccessEntry(element, providerForMatching, indices, EMPTY_INDICES, quality);
 		}
+		// the remaining checks need all characters of the filter in order
+		if (!mayMatchCombined(filter, providerForMatching.getName(), matchLabel)
+				&& (matchLabel.equals(label) || !mayMatchCombined(filter, providerForMatching.getName(), label))) {
+			return null;
+		}
 		//
 		String combinedMatchLabel = (providerForMatching.getName() + " " + element.getMatchLabel()); //$NON-NLS-1$
 		String combinedLabel = (providerForMatching.getName() + " " + element.getLabel()); //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1316,4 +1316,28 @@ public abstract class FileBufferFunctions {
 		}
 	}
 
+	/*
+	 * Tests connectAll and disconnectAll with a location given twice.
+	 */
+	@Test
+	public void testConnectAll() throws Exception {
+		IPath[] locations= { fPath, fPath };
+		fManager.connectAll(locations, LocationKind.NORMALIZE, null);
+		try {
+			ITextFileBuffer buffer= fManager.getTextFileBuffer(fPath, LocationKind.NORMALIZE);
+			assertNotNull(buffer);
+			assertEquals(fPath, buffer.getLocation());
+			assertEquals(1, fManager.getFileBuffers().length);
+
+			fManager.disconnect(fPath, LocationKind.NORMALIZE, null);
+			assertSame(buffer, fManager.getTextFileBuffer(fPath, LocationKind.NORMALIZE));
+		} finally {
+			fManager.disconnect(fPath, LocationKind.NORMALIZE, null);
+		}
+
+		fManager.connectAll(locations, LocationKind.NORMALIZE, null);
+		fManager.disconnectAll(locations, LocationKind.NORMALIZE, null);
+		assertEquals(0, fManager.getFileBuffers().length);
+	}
+
 }
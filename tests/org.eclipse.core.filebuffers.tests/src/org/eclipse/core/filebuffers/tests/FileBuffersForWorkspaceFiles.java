@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,19 @@
  *******************************************************************************/
 package org.eclipse.core.filebuffers.tests;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
 
 import org.osgi.framework.Bundle;
 
@@ -25,6 +33,7 @@ import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.IFileStore;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Platform;
 
@@ -35,6 +44,9 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourceAttributes;
 
 import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBufferStatusCodes;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.jface.text.source.IAnnotationModel;
 
@@ -106,6 +118,90 @@ public class FileBuffersForWorkspaceFiles extends FileBufferFunctions {
 		return true;
 	}
 
+	@Test
+	public void testConnectAllWorkspaceFiles() throws Exception {
+		IFolder folder= ResourceHelper.createFolder("project/folderA/folderC/");
+		IPath[] locations= new IPath[51];
+		for (int i= 0; i < 50; i++)
+			locations[i]= ResourceHelper.createFile(folder, "WorkspaceFile" + i, "content" + i).getFullPath();
+		locations[50]= getPath();
+
+		fManager.connectAll(locations, LocationKind.IFILE, null);
+		try {
+			for (int i= 0; i < 50; i++) {
+				ITextFileBuffer buffer= fManager.getTextFileBuffer(locations[i], LocationKind.IFILE);
+				assertNotNull(buffer);
+				assertEquals("content" + i, buffer.getDocument().get());
+			}
+			assertEquals("content", fManager.getTextFileBuffer(getPath(), LocationKind.IFILE).getDocument().get());
+			assertEquals(51, fManager.getFileBuffers().length);
+		} finally {
+			fManager.disconnectAll(locations, LocationKind.IFILE, null);
+		}
+		assertEquals(0, fManager.getFileBuffers().length);
+	}
+
+	@Test
+	public void testConnectAllFailure() throws Exception {
+		// the location of a file in a non-existing project cannot be determined
+		IPath[] locations= { getPath(), IPath.fromOSString("/nonExistingProject/WorkspaceFile") };
+
+		try {
+			fManager.connectAll(locations, LocationKind.IFILE, null);
+			fail();
+		} catch (CoreException x) {
+			// expected
+		}
+		assertNull(fManager.getTextFileBuffer(getPath(), LocationKind.IFILE));
+		assertEquals(0, fManager.getFileBuffers().length);
+	}
+
+	@Test
+	public void testCommitLargeDocument() throws Exception {
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 20000; i++)
+			content.append("line ").append(i).append(" \u00e9\u3042\ud83d\ude00\n");
+		String expected= content.toString();
+
+		fManager.connect(getPath(), LocationKind.IFILE, null);
+		try {
+			ITextFileBuffer buffer= fManager.getTextFileBuffer(getPath(), LocationKind.IFILE);
+			buffer.setEncoding(StandardCharsets.UTF_8.name());
+			buffer.getDocument().set(expected);
+			buffer.commit(null, true);
+		} finally {
+			fManager.disconnect(getPath(), LocationKind.IFILE, null);
+		}
+
+		IFile file= FileBuffers.getWorkspaceFileAtLocation(getPath());
+		try (InputStream in= file.getContents()) {
+			assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), in.readAllBytes());
+		}
+	}
+
+	@Test
+	public void testCommitUnmappableCharacter() throws Exception {
+		fManager.connect(getPath(), LocationKind.IFILE, null);
+		try {
+			ITextFileBuffer buffer= fManager.getTextFileBuffer(getPath(), LocationKind.IFILE);
+			buffer.setEncoding(StandardCharsets.ISO_8859_1.name());
+			buffer.getDocument().set("content \u3042");
+			try {
+				buffer.commit(null, true);
+				fail();
+			} catch (CoreException x) {
+				assertEquals(IFileBufferStatusCodes.CHARSET_MAPPING_FAILED, x.getStatus().getCode());
+			}
+		} finally {
+			fManager.disconnect(getPath(), LocationKind.IFILE, null);
+		}
+
+		IFile file= FileBuffers.getWorkspaceFileAtLocation(getPath());
+		try (InputStream in= file.getContents()) {
+			assertEquals("content", new String(in.readAllBytes(), StandardCharsets.ISO_8859_1));
+		}
+	}
+
 	@Override
 	protected Class<IAnnotationModel> getAnnotationModelClass() throws Exception {
 		Bundle bundle= Platform.getBundle("org.eclipse.ui.editors");
@@ -306,6 +306,32 @@ public class HandlerTest {
 		assertEquals(null, wHS.executeHandler(nonparameterizedCmd));
 	}
 
+	@Test
+	public void testHandlerWithoutCanExecute() {
+		ECommandService cs = workbenchContext.get(ECommandService.class);
+		EHandlerService wHS = workbenchContext.get(EHandlerService.class);
+		ParameterizedCommand cmd = cs.createCommand(TEST_ID1, null);
+
+		wHS.activateHandler(TEST_ID1, new HandlerWithoutCanExecute());
+		assertTrue(wHS.canExecute(cmd));
+		assertEquals(Boolean.TRUE, wHS.executeHandler(cmd));
+	}
+
+	@Test
+	public void testInheritedCanExecute() {
+		ECommandService cs = workbenchContext.get(ECommandService.class);
+		EHandlerService wHS = workbenchContext.get(EHandlerService.class);
+		ParameterizedCommand cmd = cs.createCommand(TEST_ID1, null);
+
+		SubclassedHandler handler = new SubclassedHandler();
+		wHS.activateHandler(TEST_ID1, handler);
+		assertFalse(wHS.canExecute(cmd));
+		assertTrue(handler.q1);
+
+		handler.enabled = true;
+		assertTrue(wHS.canExecute(cmd));
+	}
+
 	private void defineCommands(IEclipseContext context) {
 		ECommandService cs = workbenchContext.get(ECommandService.class);
 		Category category = cs.defineCategory(TEST_CAT1, "CAT1", null);
@@ -354,4 +380,28 @@ public class HandlerTest {
 			return Boolean.FALSE;
 		}
 	}
+
+	static class HandlerWithoutCanExecute {
+		@Execute
+		public Object execute() {
+			return Boolean.TRUE;
+		}
+	}
+
+	static class HandlerWithCanExecute {
+		public boolean q1;
+		public boolean enabled;
+
+		@CanExecute
+		public boolean canExecute() {
+			q1 = true;
+			return enabled;
+		}
+	}
+
+	static class SubclassedHandler extends HandlerWithCanExecute {
+		@Execute
+		public void execute() {
+		}
+	}
 }
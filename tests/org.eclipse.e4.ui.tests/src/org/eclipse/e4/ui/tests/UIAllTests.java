@@ -56,6 +56,7 @@ import org.eclipse.e4.ui.workbench.renderers.swt.StackRendererTest;
 import org.eclipse.e4.ui.workbench.renderers.swt.TabStateHandlerTest;
 import org.eclipse.e4.ui.workbench.renderers.swt.ThemeDefinitionChangedHandlerTest;
 import org.eclipse.e4.ui.workbench.renderers.swt.ToolBarManagerRendererTest;
+import org.eclipse.e4.ui.workbench.renderers.swt.ToolItemUpdaterTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -95,6 +96,7 @@ import org.junit.runners.Suite;
 		TabStateHandlerTest.class,
 		ThemeDefinitionChangedHandlerTest.class,
 		ToolBarManagerRendererTest.class,
+		ToolItemUpdaterTest.class,
 		TopoSortTests.class,
 		ExtensionsSortTests.class,
 		HandlerActivationTest.class,
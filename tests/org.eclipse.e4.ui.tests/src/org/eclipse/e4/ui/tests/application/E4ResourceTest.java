@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 IBM Corporation and others.
+ * Copyright (c) 2017, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,13 @@ package org.eclipse.e4.ui.tests.application;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -25,8 +30,12 @@ import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationFactory;
 import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.e4.ui.workbench.IWorkbench;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.junit.Test;
 
 public class E4ResourceTest {
@@ -58,6 +67,46 @@ public class E4ResourceTest {
 		assertThatMapsAreEquals(r.getIDToEObjectMap(), r.getEObjectToIDMap());
 	}
 
+	@Test
+	public void testBinaryFormat() throws IOException {
+		E4XMIResource r = new E4XMIResource();
+		MApplication a = MApplicationFactory.INSTANCE.createApplication();
+		MTrimmedWindow w = MBasicFactory.INSTANCE.createTrimmedWindow();
+		a.getChildren().add(w);
+		MPartStack stack = MBasicFactory.INSTANCE.createPartStack();
+		w.getChildren().add(stack);
+		MPart part = MBasicFactory.INSTANCE.createPart();
+		part.setElementId("part");
+		part.getPersistedState().put("key", "value");
+		stack.getChildren().add(part);
+		MPart transientPart = MBasicFactory.INSTANCE.createPart();
+		transientPart.getPersistedState().put(IWorkbench.PERSIST_STATE, Boolean.FALSE.toString());
+		stack.getChildren().add(transientPart);
+		stack.setSelectedElement(transientPart);
+		r.getContents().add((EObject) a);
+		String wId = r.getID((EObject) w);
+
+		Map<Object, Object> options = new HashMap<>();
+		options.put(XMLResource.OPTION_BINARY, Boolean.TRUE);
+		options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		r.save(out, options);
+
+		E4XMIResource loaded = new E4XMIResource();
+		loaded.load(new ByteArrayInputStream(out.toByteArray()), options);
+		MApplication loadedApp = (MApplication) loaded.getContents().get(0);
+		MTrimmedWindow loadedWindow = (MTrimmedWindow) loadedApp.getChildren().get(0);
+		MPartStack loadedStack = (MPartStack) loadedWindow.getChildren().get(0);
+
+		// same URI fragments as the saved model, elements that are not persisted are filtered
+		assertSame(loadedWindow, loaded.getEObject(wId));
+		assertEquals(r.getID((EObject) part), loaded.getID((EObject) loadedStack.getChildren().get(0)));
+		assertEquals(1, loadedStack.getChildren().size());
+		assertEquals("value", loadedStack.getChildren().get(0).getPersistedState().get("key"));
+		assertNull(loadedStack.getSelectedElement());
+		assertNull(loaded.getEObject(r.getID((EObject) transientPart)));
+	}
+
 	private void assertThatMapsAreEquals(Map<String, EObject> idToObject, Map<EObject, String> objectToId) {
 		assertEquals(idToObject.size(), objectToId.size());
 		Map<String, EObject> checkMap = objectToId.entrySet().stream()
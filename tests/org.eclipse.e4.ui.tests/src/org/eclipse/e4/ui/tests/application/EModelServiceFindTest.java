@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -153,6 +153,50 @@ public class EModelServiceFindTest {
 		assertEquals(1, elements5.size());
 	}
 
+	@Test
+	public void testFindElementsIndexed() {
+		MApplication application = createApplication();
+		applicationContext.set(MApplication.class, application);
+
+		EModelService modelService = application.getContext().get(EModelService.class);
+		MWindow window = application.getChildren().get(0);
+		assertEquals(2, modelService.findElements(application, "twoValidIds", null).size());
+		assertEquals(0, modelService.findElements(application, "toolControl1Id", null).size());
+		assertEquals(1, modelService.findElements(application, "toolControl1Id", null, null,
+				EModelService.ANYWHERE | EModelService.IN_PART).size());
+
+		// the index follows changes of the model
+		MPart part = modelService.createModelElement(MPart.class);
+		part.setElementId("sharedPart");
+		window.getSharedElements().add(part);
+		assertEquals(0, modelService.findElements(window, "sharedPart", null).size());
+
+		MPlaceholder placeholder = modelService.createModelElement(MPlaceholder.class);
+		placeholder.setElementId("sharedPart");
+		MPartSashContainer psc = (MPartSashContainer) window.getChildren().get(0);
+		psc.getChildren().add(placeholder);
+		assertEquals(1, modelService.findElements(window, "sharedPart", null).size());
+
+		placeholder.setRef(part);
+		List<MUIElement> elements = modelService.findElements(window, "sharedPart", null);
+		assertEquals(2, elements.size());
+		assertSame(placeholder, elements.get(0));
+		assertSame(part, elements.get(1));
+
+		part.setElementId("renamedPart");
+		assertEquals(1, modelService.findElements(window, "sharedPart", null).size());
+		assertSame(part, modelService.find("renamedPart", window));
+
+		psc.getChildren().remove(placeholder);
+		assertNull(modelService.find("renamedPart", window));
+		assertEquals(0, modelService.findElements(window, "sharedPart", null).size());
+
+		// placeholders referring to elements outside of the model are followed
+		window.getSharedElements().remove(part);
+		psc.getChildren().add(placeholder);
+		assertSame(part, modelService.find("renamedPart", window));
+	}
+
 	@Test
 	public void testFindElementsTypeOnly() {
 		MApplication application = createApplication();
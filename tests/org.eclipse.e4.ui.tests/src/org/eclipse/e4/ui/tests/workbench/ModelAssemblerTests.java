@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 EclipseSource Muenchen GmbH and others.
+ * Copyright (c) 2016, 2026 EclipseSource Muenchen GmbH and others.
  *
  *
  * This program and the accompanying materials
@@ -17,6 +17,8 @@
 package org.eclipse.e4.ui.tests.workbench;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import jakarta.annotation.PostConstruct;
@@ -37,6 +39,7 @@ import org.eclipse.core.runtime.RegistryFactory;
 import org.eclipse.e4.core.contexts.ContextInjectionFactory;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.ui.di.UISynchronize;
+import org.eclipse.e4.ui.internal.workbench.E4Workbench;
 import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
 import org.eclipse.e4.ui.internal.workbench.E4XMIResourceFactory;
 import org.eclipse.e4.ui.internal.workbench.ExtensionsSort;
@@ -386,6 +389,56 @@ public class ModelAssemblerTests {
 		assertEquals(0, logMessages.size());
 	}
 
+	/**
+	 * Tests that fragments are not merged again into a persisted model if the
+	 * contributing bundles did not change since the fragments were last merged
+	 * into it.
+	 */
+	@Test
+	public void testFragments_cachedContributions() throws Exception {
+		MTrimmedWindow trimmedWindow = modelService.createModelElement(MTrimmedWindow.class);
+		trimmedWindow.setElementId("testModelProcessingOrder-trimmedWindow");
+		application.getChildren().add(trimmedWindow);
+		MPart part = modelService.createModelElement(MPart.class);
+		part.setElementId("testModelProcessingOrder-part");
+		trimmedWindow.getChildren().add(part);
+		MArea area = modelService.createModelElement(MArea.class);
+		area.setElementId("testModelProcessingOrder-area");
+		trimmedWindow.getChildren().add(area);
+
+		appContext.set(E4Workbench.CACHE_MODEL_FRAGMENTS, Boolean.TRUE);
+		IContributor contributor = ContributorFactorySimple.createContributor(BUNDLE_SYMBOLIC_NAME);
+		IExtensionRegistry registry = createTestExtensionRegistry();
+		assembler.setExtensionRegistry(registry);
+		String dataFilePath = "org.eclipse.e4.ui.tests/data/ModelAssembler/cachedFragments.xml";
+		registry.addContribution(getContentsAsInputStream(dataFilePath), contributor, false, null, null, null);
+
+		assembler.processModel(true);
+		MUIElement placeholder = modelService.find("testModelProcessingOrder-placeholder", application);
+		assertNotNull(placeholder);
+		assertEquals(area, placeholder.getParent());
+
+		// the persisted model already contains the fragments
+		area.getChildren().remove(placeholder);
+		unloadFragmentResources();
+		assembler.processModel(false);
+		assertNull(modelService.find("testModelProcessingOrder-placeholder", application));
+
+		// the fragments are merged again if the model doesn't know about them
+		application.getPersistedState().clear();
+		unloadFragmentResources();
+		assembler.processModel(false);
+		assertNotNull(modelService.find("testModelProcessingOrder-placeholder", application));
+	}
+
+	private void unloadFragmentResources() {
+		for (Resource resource : resourceSet.getResources()) {
+			if (resource != appResource) {
+				resource.unload();
+			}
+		}
+	}
+
 	/**
 	 * Tests that pre-processors running from a non-persisted state that are
 	 * marked as "always" are executed.
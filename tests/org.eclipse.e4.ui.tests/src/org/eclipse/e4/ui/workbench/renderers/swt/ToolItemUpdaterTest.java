@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.workbench.renderers.swt;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.e4.ui.model.application.ui.menu.MDirectToolItem;
+import org.eclipse.e4.ui.model.application.ui.menu.MMenuFactory;
+import org.eclipse.e4.ui.model.application.ui.menu.MToolBar;
+import org.eclipse.e4.ui.model.application.ui.menu.MToolBarElement;
+import org.eclipse.swt.widgets.Event;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ToolItemUpdaterTest {
+
+	private static final int ITEM_COUNT = 500;
+
+	private ToolItemUpdater updater;
+	private MToolBar toolBar;
+	private CountingContributionItem[] items;
+
+	private static class CountingContributionItem extends AbstractContributionItem {
+		int updateCount;
+
+		@Override
+		protected void updateItemEnablement() {
+			updateCount++;
+		}
+
+		@Override
+		protected void updateMenuItem() {
+		}
+
+		@Override
+		protected void updateToolItem() {
+		}
+
+		@Override
+		protected void executeItem(Event event) {
+		}
+
+		@Override
+		protected boolean canExecuteItem(Event event) {
+			return true;
+		}
+
+		@Override
+		protected void handleWidgetDispose(Event event) {
+		}
+	}
+
+	@Before
+	public void setUp() {
+		updater = new ToolItemUpdater();
+		toolBar = MMenuFactory.INSTANCE.createToolBar();
+		items = new CountingContributionItem[ITEM_COUNT];
+		for (int i = 0; i < ITEM_COUNT; i++) {
+			MDirectToolItem model = MMenuFactory.INSTANCE.createDirectToolItem();
+			model.setElementId("item" + i);
+			toolBar.getChildren().add(model);
+			items[i] = new CountingContributionItem();
+			items[i].setModel(model);
+			updater.registerItem(items[i]);
+		}
+	}
+
+	private int flushAndCountUpdates() {
+		updater.run();
+		int count = 0;
+		for (CountingContributionItem item : items) {
+			count += item.updateCount;
+			item.updateCount = 0;
+		}
+		return count;
+	}
+
+	@Test
+	public void testUpdateAll() {
+		updater.updateContributionItems(e -> true);
+		assertEquals(ITEM_COUNT, flushAndCountUpdates());
+	}
+
+	@Test
+	public void testUpdateSelected() {
+		updater.updateContributionItems(e -> "item42".equals(e.getElementId()));
+		updater.run();
+		assertEquals(1, items[42].updateCount);
+		assertEquals(1, flushAndCountUpdates());
+
+		updater.updateContributionItems(e -> false);
+		assertEquals(0, flushAndCountUpdates());
+	}
+
+	@Test
+	public void testRegisterTwice() {
+		updater.registerItem(items[0]);
+		updater.updateContributionItems(e -> true);
+		assertEquals(ITEM_COUNT, flushAndCountUpdates());
+	}
+
+	@Test
+	public void testRemoveItem() {
+		updater.removeItem(items[7]);
+		updater.updateContributionItems(e -> true);
+		assertEquals(ITEM_COUNT - 1, flushAndCountUpdates());
+	}
+
+	@Test
+	public void testOrphanedItemsAreRemoved() {
+		toolBar.getChildren().remove(items[5].getModel());
+		updater.updateContributionItems(e -> true);
+		assertEquals(ITEM_COUNT - 1, flushAndCountUpdates());
+
+		toolBar.getChildren().add((MToolBarElement) items[5].getModel());
+		updater.updateContributionItems(e -> true);
+		assertEquals(ITEM_COUNT - 1, flushAndCountUpdates());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2022 Christoph Läubrich and others.
+ * Copyright (c) 2020, 2026 Christoph Läubrich and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
  ******************************************************************************/
 package org.eclipse.jface.tests.images;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
@@ -164,4 +165,71 @@ public class UrlImageDescriptorTest {
 		assertEquals(imageDataOrig200.height, imageDataURL200.height);
 	}
 
+	@Test
+	public void testPrefetchedImageData() {
+		URL url = FileImageDescriptorTest.class.getResource("/icons/imagetests/rectangular-86x24.png");
+		ImageData expected = ImageDescriptor.createFromURL(url).getImageData(100);
+		ImageDescriptor descriptor = ImageDescriptor.createFromURL(url);
+		descriptor.prefetch(100);
+
+		ImageData imageData = descriptor.getImageData(100);
+		assertNotNull(imageData);
+		assertEquals(expected.width, imageData.width);
+		assertEquals(expected.height, imageData.height);
+		assertArrayEquals(expected.data, imageData.data);
+
+		// every caller gets its own copy of the prefetched data
+		ImageData other = descriptor.getImageData(100);
+		assertNotSame(imageData, other);
+		assertNotSame(imageData.data, other.data);
+		imageData.data[0] = (byte) ~imageData.data[0];
+		assertArrayEquals(expected.data, descriptor.getImageData(100).data);
+	}
+
+	@Test
+	public void testPrefetchPerZoom() {
+		ImageDescriptor descriptor = ImageDescriptor
+				.createFromURL(FileImageDescriptorTest.class.getResource("/icons/imagetests/zoomIn.png"));
+		descriptor.prefetch(200);
+
+		ImageData imageData = descriptor.getImageData(100);
+		assertNotNull(imageData);
+		ImageData imageDataZoomed = descriptor.getImageData(200);
+		assertNotNull(imageDataZoomed);
+		assertEquals(imageData.width * 2, imageDataZoomed.width);
+	}
+
+	@Test
+	public void testPrefetchMissingImage() throws IOException {
+		ImageDescriptor missing = ImageDescriptor
+				.createFromURL(tempFolder.getRoot().toPath().resolve("missing.gif").toUri().toURL());
+		missing.prefetch(100);
+
+		assertNull(missing.getImageData(100));
+		assertNull(missing.createImage(false));
+	}
+
+	@Test
+	public void testCreateImageFromPrefetchedData() {
+		URL url = FileImageDescriptorTest.class.getResource("/icons/imagetests/rectangular-57x16.png");
+		ImageDescriptor descriptor = ImageDescriptor.createFromURL(url);
+		ImageData expected = descriptor.getImageData(100);
+		descriptor.prefetch(100);
+		descriptor.prefetch(200);
+		// wait for the background decoding
+		assertNotNull(descriptor.getImageData(100));
+		assertNotNull(descriptor.getImageData(200));
+
+		Image image1 = descriptor.createImage();
+		assertNotNull(image1);
+		Image image2 = ImageDescriptor.createFromURL(url).createImage();
+		assertNotNull(image2);
+		assertNotEquals("Found equal images for URLImageDescriptor", image1, image2);
+		assertEquals(expected.width, image1.getImageData(100).width);
+		assertEquals(expected.height, image1.getImageData(100).height);
+		assertEquals(expected.width * 2, image1.getImageData(200).width);
+		image1.dispose();
+		image2.dispose();
+	}
+
 }
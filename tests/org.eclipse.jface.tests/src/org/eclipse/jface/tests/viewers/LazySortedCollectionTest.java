@@ -464,6 +464,30 @@ public class LazySortedCollectionTest {
 		assertContentsValid();
 	}
 
+	/**
+	 * Removes many elements one-at-a-time, which exercises the element to tree
+	 * index map well beyond its initial capacity.
+	 */
+	@Test
+	public void testRemoveManyElements() {
+		String[] many = new String[2000];
+		for (int i = 0; i < many.length; i++) {
+			many[i] = "w" + ((i * 7919) % many.length);
+		}
+		addAll(many);
+		queryRange(0, 100, true);
+
+		for (int i = 0; i < many.length; i += 2) {
+			remove(many[i]);
+		}
+		assertContentsValid();
+
+		for (int i = 1; i < many.length; i += 4) {
+			remove(many[i]);
+		}
+		assertContentsValid();
+	}
+
 	//
 //
 //    public static void testAdditions() {
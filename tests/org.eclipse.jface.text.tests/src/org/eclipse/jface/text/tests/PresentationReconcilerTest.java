@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Objects;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.TextAttribute;
+import org.eclipse.jface.text.TextViewer;
+import org.eclipse.jface.text.presentation.PresentationReconciler;
+import org.eclipse.jface.text.rules.DefaultDamagerRepairer;
+import org.eclipse.jface.text.rules.IRule;
+import org.eclipse.jface.text.rules.RuleBasedScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+/**
+ * Tests for the asynchronous repair of {@link PresentationReconciler}.
+ */
+public class PresentationReconcilerTest {
+
+	private static final int LINES= 5000;
+
+	private Shell fShell;
+
+	@Before
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setSize(500, 200);
+	}
+
+	@After
+	public void tearDown() {
+		fShell.dispose();
+	}
+
+	@Test
+	public void testAsynchronousRepair() throws Exception {
+		String text= createText();
+		TextViewer viewer= createViewer(true);
+		viewer.setDocument(new Document(text));
+		StyledText textWidget= viewer.getTextWidget();
+
+		// the viewport is repaired immediately
+		assertEquals(getRed(), getForeground(textWidget, text.indexOf('\'') + 1));
+
+		waitForRepair(textWidget, text.lastIndexOf('\'') - 1);
+		assertArrayEquals(getForegrounds(createRepairedViewer(text)), getForegrounds(textWidget));
+	}
+
+	@Test
+	public void testChangeDuringAsynchronousRepair() throws Exception {
+		TextViewer viewer= createViewer(true);
+		IDocument document= new Document(createText());
+		viewer.setDocument(document);
+
+		document.replace(document.getLength() / 2, 0, "'inserted'\n'string");
+		document.replace(document.getLength() - 20, 20, "");
+		document.replace(0, 0, "'top'\n");
+
+		String text= document.get();
+		StyledText textWidget= viewer.getTextWidget();
+		waitForRepair(textWidget, text.lastIndexOf('\'') - 1);
+		assertArrayEquals(getForegrounds(createRepairedViewer(text)), getForegrounds(textWidget));
+	}
+
+	private String createText() {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < LINES; i++) {
+			text.append("line ").append(i).append(" 'string ").append(i).append("' text\n");
+		}
+		return text.toString();
+	}
+
+	private TextViewer createViewer(boolean asynchronous) {
+		TextViewer viewer= new TextViewer(fShell, SWT.V_SCROLL);
+		viewer.getTextWidget().setSize(500, 200);
+
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(new IRule[] { new SingleLineRule("'", "'", new Token(new TextAttribute(getRed()))) });
+		DefaultDamagerRepairer damagerRepairer= new DefaultDamagerRepairer(scanner);
+
+		PresentationReconciler reconciler= new PresentationReconciler();
+		reconciler.setAsynchronousRepair(asynchronous);
+		reconciler.setDamager(damagerRepairer, IDocument.DEFAULT_CONTENT_TYPE);
+		reconciler.setRepairer(damagerRepairer, IDocument.DEFAULT_CONTENT_TYPE);
+		reconciler.install(viewer);
+		return viewer;
+	}
+
+	private StyledText createRepairedViewer(String text) {
+		TextViewer viewer= createViewer(false);
+		viewer.setDocument(new Document(text));
+		return viewer.getTextWidget();
+	}
+
+	private void waitForRepair(StyledText textWidget, int offset) {
+		boolean repaired= new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return getRed().equals(getForeground(textWidget, offset));
+			}
+		}.waitForCondition(textWidget.getDisplay(), 5000);
+		assertTrue("Damage not repaired", repaired);
+	}
+
+	private Color getRed() {
+		return Display.getDefault().getSystemColor(SWT.COLOR_RED);
+	}
+
+	private static Color getForeground(StyledText textWidget, int offset) {
+		StyleRange range= textWidget.getStyleRangeAtOffset(offset);
+		return range != null ? range.foreground : null;
+	}
+
+	private static String[] getForegrounds(StyledText textWidget) {
+		String[] foregrounds= new String[textWidget.getCharCount()];
+		for (int i= 0; i < foregrounds.length; i++) {
+			foregrounds[i]= Objects.toString(getForeground(textWidget, i));
+		}
+		return foregrounds;
+	}
+}
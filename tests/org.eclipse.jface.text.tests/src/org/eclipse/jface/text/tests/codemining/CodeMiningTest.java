@@ -50,9 +50,11 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.AbstractCodeMiningProvider;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+import org.eclipse.jface.text.codemining.ICodeMiningProviderExtension;
 import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
@@ -347,6 +349,77 @@ public class CodeMiningTest {
 		}.waitForCondition(widget.getDisplay(), 1000));
 	}
 
+	@Test
+	public void testCodeMiningVisibleLinesFirst() throws BadLocationException {
+		List<IRegion> requestedRegions= Collections.synchronizedList(new ArrayList<>());
+		fViewer.setCodeMiningProviders(new ICodeMiningProvider[] { new RegionCodeMiningProvider(requestedRegions) });
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 1000; i++) {
+			text.append("line ").append(i).append('\n');
+		}
+		IDocument document= fViewer.getDocument();
+		document.set(text.toString());
+		StyledText widget= fViewer.getTextWidget();
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return widget.getLineVerticalIndent(0) > 0;
+			}
+		}.waitForCondition(widget.getDisplay(), 3000));
+		Assert.assertEquals(0, widget.getLineVerticalIndent(500));
+		for (IRegion region : requestedRegions.toArray(new IRegion[0])) {
+			Assert.assertTrue("Lines outside of the viewport requested", region.getOffset() + region.getLength() <= document.getLineOffset(100));
+		}
+
+		fViewer.setTopIndex(900);
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return widget.getLineVerticalIndent(900) > 0;
+			}
+		}.waitForCondition(widget.getDisplay(), 3000));
+		Assert.assertEquals(0, widget.getLineVerticalIndent(500));
+		// the code minings of the first lines are kept
+		Assert.assertTrue(widget.getLineVerticalIndent(0) > 0);
+	}
+
+	@Test
+	public void testCodeMiningViewportChangesCoalesced() throws BadLocationException {
+		List<IRegion> requestedRegions= Collections.synchronizedList(new ArrayList<>());
+		fViewer.setCodeMiningProviders(new ICodeMiningProvider[] { new RegionCodeMiningProvider(requestedRegions) });
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 1000; i++) {
+			text.append("line ").append(i).append('\n');
+		}
+		IDocument document= fViewer.getDocument();
+		document.set(text.toString());
+		StyledText widget= fViewer.getTextWidget();
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return widget.getLineVerticalIndent(0) > 0;
+			}
+		}.waitForCondition(widget.getDisplay(), 3000));
+
+		requestedRegions.clear();
+		// scroll step by step without processing the events in between
+		for (int line= 10; line <= 900; line+= 10) {
+			fViewer.setTopIndex(line);
+		}
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return widget.getLineVerticalIndent(900) > 0;
+			}
+		}.waitForCondition(widget.getDisplay(), 3000));
+		// one request for the lines finally visible, not one per scroll step
+		Assert.assertTrue("Viewport changes not coalesced", requestedRegions.size() <= 2);
+		for (IRegion region : requestedRegions.toArray(new IRegion[0])) {
+			Assert.assertTrue("Lines scrolled over requested", region.getOffset() >= document.getLineOffset(800));
+		}
+		Assert.assertEquals(0, widget.getLineVerticalIndent(500));
+	}
+
 	private static boolean hasCodeMiningPrintedBelowLine(ITextViewer viewer, int line) throws BadLocationException {
 		StyledText widget= viewer.getTextWidget();
 		IDocument document= viewer.getDocument();
@@ -408,4 +481,41 @@ public class CodeMiningTest {
 		image.dispose();
 		return false;
 	}
+
+	private static class RegionCodeMiningProvider extends AbstractCodeMiningProvider implements ICodeMiningProviderExtension {
+
+		private final List<IRegion> fRequestedRegions;
+
+		RegionCodeMiningProvider(List<IRegion> requestedRegions) {
+			fRequestedRegions= requestedRegions;
+		}
+
+		@Override
+		public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IProgressMonitor monitor) {
+			IDocument document= viewer.getDocument();
+			return provideCodeMinings(viewer, new Region(0, document.getLength()), monitor);
+		}
+
+		@Override
+		public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor) {
+			fRequestedRegions.add(region);
+			IDocument document= viewer.getDocument();
+			return CompletableFuture.supplyAsync(() -> {
+				List<ICodeMining> minings= new ArrayList<>();
+				try {
+					int end= region.getOffset() + region.getLength();
+					for (int line= document.getLineOfOffset(region.getOffset()); line < document.getNumberOfLines() && document.getLineOffset(line) < end; line++) {
+						LineHeaderCodeMining mining= new LineHeaderCodeMining(line, document, this) {
+							// Nothing in particular
+						};
+						mining.setLabel("line " + line);
+						minings.add(mining);
+					}
+				} catch (BadLocationException e) {
+					e.printStackTrace();
+				}
+				return minings;
+			});
+		}
+	}
 }
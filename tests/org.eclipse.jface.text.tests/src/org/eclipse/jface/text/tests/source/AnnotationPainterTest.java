@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.ITextViewerExtension2;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.AnnotationPainter;
+import org.eclipse.jface.text.source.AnnotationPainter.IDrawingStrategy;
+import org.eclipse.jface.text.source.IAnnotationAccess;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+public class AnnotationPainterTest {
+
+	private static final String TYPE= "org.eclipse.jface.text.tests.annotation";
+
+	private Shell fShell;
+	private SourceViewer fViewer;
+	private AnnotationModel fModel;
+	private RecordingStrategy fStrategy;
+
+	@Before
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setLayout(new FillLayout());
+		fViewer= new SourceViewer(fShell, null, SWT.NONE);
+		fModel= new AnnotationModel();
+		fViewer.setDocument(new Document("first second third\nfourth fifth\n"), fModel);
+
+		fStrategy= new RecordingStrategy();
+		AnnotationPainter painter= new AnnotationPainter(fViewer, new TypeAccess());
+		painter.addDrawingStrategy("recording", fStrategy);
+		painter.addAnnotationType(TYPE, "recording");
+		painter.setAnnotationTypeColor(TYPE, fShell.getDisplay().getSystemColor(SWT.COLOR_RED));
+		((ITextViewerExtension2) fViewer).addPainter(painter);
+
+		fShell.open();
+	}
+
+	@After
+	public void tearDown() {
+		fShell.dispose();
+		fShell= null;
+	}
+
+	@Test
+	public void testAddRemoveAndChangeAnnotations() {
+		Annotation first= new Annotation(TYPE, false, "first");
+		Annotation second= new Annotation(TYPE, false, "second");
+		fModel.addAnnotation(first, new Position(0, 5));
+		fModel.addAnnotation(second, new Position(6, 6));
+		assertTrue(waitForPaint(first, second));
+		assertEquals(Integer.valueOf(0), fStrategy.fPainted.get(first));
+		assertEquals(Integer.valueOf(6), fStrategy.fPainted.get(second));
+
+		fModel.removeAnnotation(first);
+		assertTrue(waitForClear(first));
+		assertTrue(waitForPaint(second));
+		assertFalse(fStrategy.fPainted.containsKey(first));
+
+		fModel.modifyAnnotationPosition(second, new Position(19, 6));
+		assertTrue(waitForClear(second));
+		assertTrue(waitForPaint(second));
+		assertEquals(Integer.valueOf(19), fStrategy.fPainted.get(second));
+
+		Annotation third= new Annotation(TYPE, false, "third");
+		fModel.addAnnotation(third, new Position(13, 5));
+		assertTrue(waitForPaint(second, third));
+		assertEquals(Integer.valueOf(13), fStrategy.fPainted.get(third));
+		assertFalse(fStrategy.fPainted.containsKey(first));
+	}
+
+	@Test
+	public void testModelReplaced() {
+		Annotation first= new Annotation(TYPE, false, "first");
+		fModel.addAnnotation(first, new Position(0, 5));
+		assertTrue(waitForPaint(first));
+
+		AnnotationModel model= new AnnotationModel();
+		Annotation other= new Annotation(TYPE, false, "other");
+		model.addAnnotation(other, new Position(6, 6));
+		fViewer.setDocument(fViewer.getDocument(), model);
+		assertTrue(waitForPaint(other));
+		assertFalse(fStrategy.fPainted.containsKey(first));
+	}
+
+	private boolean waitForPaint(Annotation... annotations) {
+		StyledText textWidget= fViewer.getTextWidget();
+		fStrategy.fPainted.clear();
+		textWidget.redraw();
+		return new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				for (Annotation annotation : annotations) {
+					if (!fStrategy.fPainted.containsKey(annotation))
+						return false;
+				}
+				return true;
+			}
+		}.waitForCondition(textWidget.getDisplay(), 2000);
+	}
+
+	private boolean waitForClear(Annotation annotation) {
+		StyledText textWidget= fViewer.getTextWidget();
+		return new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fStrategy.fCleared.contains(annotation);
+			}
+		}.waitForCondition(textWidget.getDisplay(), 2000);
+	}
+
+	private static final class RecordingStrategy implements IDrawingStrategy {
+
+		private final Map<Annotation, Integer> fPainted= new HashMap<>();
+		private final List<Annotation> fCleared= new ArrayList<>();
+
+		@Override
+		public void draw(Annotation annotation, GC gc, StyledText textWidget, int offset, int length, Color color) {
+			if (gc != null)
+				fPainted.put(annotation, Integer.valueOf(offset));
+			else
+				fCleared.add(annotation);
+		}
+	}
+
+	private static final class TypeAccess implements IAnnotationAccess {
+
+		@Override
+		public Object getType(Annotation annotation) {
+			return annotation.getType();
+		}
+
+		@Override
+		public boolean isMultiLine(Annotation annotation) {
+			return true;
+		}
+
+		@Override
+		public boolean isTemporary(Annotation annotation) {
+			return true;
+		}
+	}
+}
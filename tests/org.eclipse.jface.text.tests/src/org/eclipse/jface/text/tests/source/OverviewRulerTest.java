@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationAccess;
+import org.eclipse.jface.text.source.ISharedTextColors;
+import org.eclipse.jface.text.source.OverviewRuler;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+/**
+ * Tests that the overview ruler paints the same after incremental updates as a newly created
+ * ruler does.
+ */
+public class OverviewRulerTest {
+
+	private static final String ERROR= "org.eclipse.jface.text.tests.error";
+	private static final String WARNING= "org.eclipse.jface.text.tests.warning";
+
+	private Shell fShell;
+	private IDocument fDocument;
+	private AnnotationModel fModel;
+	private ISharedTextColors fColors;
+	private final Map<String, Integer> fLayers= new LinkedHashMap<>();
+	private OverviewRuler fRuler;
+
+	@Before
+	public void setUp() {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 500; i++)
+			text.append("line ").append(i).append('\n');
+		fDocument= new Document(text.toString());
+		fModel= new AnnotationModel();
+		fLayers.put(ERROR, Integer.valueOf(2));
+		fLayers.put(WARNING, Integer.valueOf(1));
+
+		fShell= new Shell();
+		fColors= rgb -> new Color(fShell.getDisplay(), rgb);
+		fRuler= createViewer(fShell);
+	}
+
+	@After
+	public void tearDown() {
+		fShell.dispose();
+		fShell= null;
+	}
+
+	@Test
+	public void testPaintAfterAddRemoveAndChange() throws BadLocationException {
+		ImageData empty= capture(fRuler);
+
+		Annotation first= addAnnotation(ERROR, 10);
+		Annotation second= addAnnotation(WARNING, 200);
+		addAnnotation(ERROR, 400);
+		ImageData painted= capture(fRuler);
+		assertFalse(Arrays.equals(empty.data, painted.data));
+		assertPaintedLikeNewRuler();
+
+		fModel.removeAnnotation(first);
+		assertPaintedLikeNewRuler();
+
+		fModel.modifyAnnotationPosition(second, new Position(fDocument.getLineOffset(300), 4));
+		assertPaintedLikeNewRuler();
+
+		addAnnotation(WARNING, 10);
+		assertPaintedLikeNewRuler();
+	}
+
+	@Test
+	public void testLayerChange() throws BadLocationException {
+		addAnnotation(ERROR, 100);
+		addAnnotation(WARNING, 100);
+		ImageData before= capture(fRuler);
+
+		setLayer(ERROR, 0);
+		assertFalse(Arrays.equals(before.data, capture(fRuler).data));
+		assertPaintedLikeNewRuler();
+	}
+
+	@Test
+	public void testAnnotationTypeChange() throws BadLocationException {
+		addAnnotation(ERROR, 100);
+		addAnnotation(WARNING, 300);
+		capture(fRuler);
+
+		fRuler.removeAnnotationType(WARNING);
+		fLayers.remove(WARNING);
+		assertPaintedLikeNewRuler();
+
+		setLayer(WARNING, 1);
+		assertPaintedLikeNewRuler();
+	}
+
+	@Test
+	public void testResize() throws BadLocationException {
+		addAnnotation(ERROR, 100);
+		addAnnotation(WARNING, 300);
+		capture(fRuler);
+
+		fShell.setSize(300, 250);
+		fShell.layout(true, true);
+		DisplayHelper.driveEventQueue(fShell.getDisplay());
+		assertPaintedLikeNewRuler();
+	}
+
+	@Test
+	public void testManyChanges() throws BadLocationException {
+		capture(fRuler);
+		for (int i= 0; i < 1500; i++)
+			addAnnotation((i & 1) == 0 ? ERROR : WARNING, i % 500);
+		assertPaintedLikeNewRuler();
+	}
+
+	private Annotation addAnnotation(String type, int line) throws BadLocationException {
+		Annotation annotation= new Annotation(type, false, type);
+		fModel.addAnnotation(annotation, new Position(fDocument.getLineOffset(line), 4));
+		return annotation;
+	}
+
+	private void setLayer(String type, int layer) {
+		fLayers.put(type, Integer.valueOf(layer));
+		fRuler.addAnnotationType(type);
+		fRuler.setAnnotationTypeLayer(type, layer);
+		fRuler.setAnnotationTypeColor(type, getColor(type));
+	}
+
+	private OverviewRuler createViewer(Shell shell) {
+		shell.setLayout(new FillLayout());
+		OverviewRuler ruler= new OverviewRuler(new TypeAccess(), 12, fColors);
+		for (Map.Entry<String, Integer> entry : fLayers.entrySet()) {
+			ruler.addAnnotationType(entry.getKey());
+			ruler.setAnnotationTypeLayer(entry.getKey(), entry.getValue().intValue());
+			ruler.setAnnotationTypeColor(entry.getKey(), getColor(entry.getKey()));
+		}
+		SourceViewer viewer= new SourceViewer(shell, null, ruler, true, SWT.V_SCROLL);
+		viewer.setDocument(fDocument, fModel);
+		shell.setSize(fShell != null && fShell != shell ? fShell.getSize() : new Point(300, 500));
+		shell.open();
+		DisplayHelper.driveEventQueue(shell.getDisplay());
+		return ruler;
+	}
+
+	private Color getColor(String type) {
+		return fColors.getColor(ERROR.equals(type) ? new RGB(255, 0, 0) : new RGB(0, 0, 255));
+	}
+
+	private void assertPaintedLikeNewRuler() {
+		Shell shell= new Shell();
+		try {
+			ImageData expected= capture(createViewer(shell));
+			ImageData actual= capture(fRuler);
+			assertEquals(expected.width, actual.width);
+			assertEquals(expected.height, actual.height);
+			assertArrayEquals(expected.data, actual.data);
+		} finally {
+			shell.dispose();
+		}
+	}
+
+	private static ImageData capture(OverviewRuler ruler) {
+		Control control= ruler.getControl();
+		Point size= control.getSize();
+		Image image= new Image(control.getDisplay(), size.x, size.y);
+		try {
+			GC gc= new GC(image);
+			try {
+				assertTrue(control.print(gc));
+			} finally {
+				gc.dispose();
+			}
+			return image.getImageData();
+		} finally {
+			image.dispose();
+		}
+	}
+
+	private static final class TypeAccess implements IAnnotationAccess {
+
+		@Override
+		public Object getType(Annotation annotation) {
+			return annotation.getType();
+		}
+
+		@Override
+		public boolean isMultiLine(Annotation annotation) {
+			return true;
+		}
+
+		@Override
+		public boolean isTemporary(Annotation annotation) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModelEvent;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModelListener;
+import org.eclipse.jface.text.source.IAnnotationModelListenerExtension;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotation;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
+
+public class ProjectionAnnotationModelTest {
+
+	private ProjectionAnnotationModel fModel;
+	private final List<AnnotationModelEvent> fEvents= new ArrayList<>();
+
+	private ProjectionAnnotation fFirst;
+	private ProjectionAnnotation fSecond;
+	private ProjectionAnnotation fThird;
+	private ProjectionAnnotation fOther;
+
+	@Before
+	public void setUp() {
+		Document document= new Document("a\n b\n c\nd\n e\n f\ng\n h\n i\n j\n k\n l\n");
+		fModel= new ProjectionAnnotationModel();
+		fModel.connect(document);
+		fFirst= new ProjectionAnnotation();
+		fSecond= new ProjectionAnnotation(true);
+		fThird= new ProjectionAnnotation();
+		fOther= new ProjectionAnnotation();
+		fModel.addAnnotation(fFirst, new Position(0, 9));
+		fModel.addAnnotation(fSecond, new Position(9, 6));
+		fModel.addAnnotation(fThird, new Position(15, 12));
+		fModel.addAnnotation(fOther, new Position(9, 15));
+		fModel.addAnnotationModelListener(new Listener());
+		// ignore the world change sent to new listeners
+		fEvents.clear();
+	}
+
+	@Test
+	public void testReplaceUnchangedAnnotations() {
+		Map<ProjectionAnnotation, Position> annotations= new HashMap<>();
+		annotations.put(new ProjectionAnnotation(), new Position(9, 6));
+		annotations.put(new ProjectionAnnotation(), new Position(15, 12));
+		fModel.replaceAnnotations(9, 18, annotations, a -> a != fOther);
+
+		assertTrue(fEvents.isEmpty());
+		assertEquals(new Position(9, 6), fModel.getPosition(fSecond));
+		assertEquals(new Position(15, 12), fModel.getPosition(fThird));
+	}
+
+	@Test
+	public void testReplaceAnnotationsOfRange() {
+		ProjectionAnnotation added= new ProjectionAnnotation();
+		Map<ProjectionAnnotation, Position> annotations= new HashMap<>();
+		annotations.put(new ProjectionAnnotation(), new Position(9, 12));
+		annotations.put(added, new Position(21, 6));
+		fModel.replaceAnnotations(9, 18, annotations, a -> a != fOther);
+
+		assertEquals(1, fEvents.size());
+		AnnotationModelEvent event= fEvents.get(0);
+		assertArrayEquals(new Annotation[] { added }, event.getAddedAnnotations());
+		assertArrayEquals(new Annotation[] { fSecond }, event.getChangedAnnotations());
+		assertArrayEquals(new Annotation[] { fThird }, event.getRemovedAnnotations());
+
+		// moved annotations keep their state, annotations outside of the range or filtered out are kept
+		assertEquals(new Position(9, 12), fModel.getPosition(fSecond));
+		assertTrue(fSecond.isCollapsed());
+		assertNull(fModel.getPosition(fThird));
+		assertEquals(new Position(21, 6), fModel.getPosition(added));
+		assertEquals(new Position(0, 9), fModel.getPosition(fFirst));
+		assertEquals(new Position(9, 15), fModel.getPosition(fOther));
+	}
+
+	@Test
+	public void testReplaceAnnotationsRemovesDuplicates() {
+		ProjectionAnnotation duplicate= new ProjectionAnnotation();
+		fModel.addAnnotation(duplicate, new Position(0, 9));
+		fEvents.clear();
+
+		Map<ProjectionAnnotation, Position> annotations= new HashMap<>();
+		annotations.put(new ProjectionAnnotation(), new Position(0, 9));
+		fModel.replaceAnnotations(0, 9, annotations, a -> true);
+
+		assertEquals(1, fEvents.size());
+		assertEquals(1, fEvents.get(0).getRemovedAnnotations().length);
+		Annotation removed= fEvents.get(0).getRemovedAnnotations()[0];
+		assertTrue(removed == fFirst || removed == duplicate);
+		assertEquals(0, fEvents.get(0).getAddedAnnotations().length);
+	}
+
+	private class Listener implements IAnnotationModelListener, IAnnotationModelListenerExtension {
+
+		@Override
+		public void modelChanged(IAnnotationModel model) {
+			// not used
+		}
+
+		@Override
+		public void modelChanged(AnnotationModelEvent event) {
+			if (!event.isEmpty())
+				fEvents.add(event);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1018,4 +1018,19 @@ public class ProjectionMappingTest {
 		createLineWrappingProjection();
 		assertEquals(fSlaveDocument.getLength(), fProjectionMapping.getImageLength());
 	}
+
+	@Test
+	public void test13e() throws BadLocationException {
+		// test getImageLength
+		// projection change
+		createStandardProjection();
+		assertEquals(40, fProjectionMapping.getImageLength());
+
+		fSlaveDocument.replace(40, 0, "99999999999999999999");
+		addProjection(160, 40, 20);
+		fProjectionMapping.projectionChanged();
+		assertEquals(60, fProjectionMapping.getImageLength());
+		assertEquals(170, fProjectionMapping.toOriginOffset(50));
+		assertEquals(180, fProjectionMapping.toOriginOffset(60));
+	}
 }
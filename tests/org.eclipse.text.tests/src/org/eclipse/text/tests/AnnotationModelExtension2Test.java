@@ -276,4 +276,24 @@ public class AnnotationModelExtension2Test {
 		assertPermutations(true, true, expected);
 	}
 
+	@Test
+	public void testAheadBehindWithManyAnnotationsBefore() throws Exception {
+		for (int i= 0; i < 100; i++) {
+			fAnnotationModel.addAnnotation(new Annotation(false), new Position(i % 5, 1));
+		}
+		Annotation[] expected= new Annotation[] { fInside, fInsideIn, fInsideOut, fAfter, fAfterIn, fBefore, fBeforeIn };
+		addAnnotations(fAnnotationModel, fAnnotationModel, fAnnotationModel);
+		assertEquals(expected, getAnnotations(true, true), fAnnotationModel, fAnnotationModel, fAnnotationModel);
+	}
+
+	@Test
+	public void testAheadBehindWithManyAnnotationsAfter() throws Exception {
+		for (int i= 0; i < 100; i++) {
+			fAnnotationModel.addAnnotation(new Annotation(false), new Position(fDocument.getLength() - 1 - i % 5, 1));
+		}
+		Annotation[] expected= new Annotation[] { fInside, fInsideIn, fInsideOut, fAfter, fAfterIn, fBefore, fBeforeIn };
+		addAnnotations(fAnnotationModel, fAnnotationModel, fAnnotationModel);
+		assertEquals(expected, getAnnotations(true, true), fAnnotationModel, fAnnotationModel, fAnnotationModel);
+	}
+
 }
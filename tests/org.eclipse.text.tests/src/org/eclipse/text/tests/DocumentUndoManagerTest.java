@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2010 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -107,6 +107,77 @@ public class DocumentUndoManagerTest {
 		assertEquals(original, reverted);
 	}
 
+	/**
+	 * Test that the oldest changes are discarded when the undo history exceeds its memory limit.
+	 *
+	 * @throws ExecutionException   if undo fails
+	 * @throws BadLocationException if document change fails
+	 */
+	@Test
+	public void testMemoryLimit() throws ExecutionException, BadLocationException {
+		final IDocument document = new Document();
+		createUndoManager(document);
+		DocumentUndoManager undoManager = (DocumentUndoManager) fUndoManager;
+		undoManager.setMemoryLimit(100);
+
+		for (int i = 0; i < 10; i++) {
+			document.replace(document.getLength(), 0, "0123456789");
+			fUndoManager.commit();
+			assertTrue(undoManager.getMemoryUsage() <= 100);
+		}
+		assertEquals(100, undoManager.getMemoryUsage());
+
+		int undoCount = 0;
+		while (fUndoManager.undoable()) {
+			fUndoManager.undo();
+			undoCount++;
+		}
+		assertEquals(5, undoCount);
+		assertEquals(50, document.getLength());
+
+		undoManager.setMemoryLimit(0);
+		document.replace(0, 50, "");
+		fUndoManager.commit();
+		assertEquals(100, undoManager.getMemoryUsage());
+	}
+
+	@Test
+	public void testMemoryLimitKeepsRedoHistory() throws ExecutionException, BadLocationException {
+		final IDocument document = new Document();
+		createUndoManager(document);
+		DocumentUndoManager undoManager = (DocumentUndoManager) fUndoManager;
+		undoManager.setMemoryLimit(100);
+
+		for (int i = 0; i < 5; i++) {
+			document.replace(document.getLength(), 0, "0123456789");
+			fUndoManager.commit();
+		}
+		assertEquals(100, undoManager.getMemoryUsage());
+
+		for (int i = 0; i < 4; i++) {
+			fUndoManager.undo();
+		}
+		assertEquals(10, document.getLength());
+
+		// neither committing nor lowering the limit must lose the changes to redo
+		fUndoManager.commit();
+		undoManager.setMemoryLimit(40);
+		assertEquals(100, undoManager.getMemoryUsage());
+
+		int redoCount = 0;
+		while (fUndoManager.redoable()) {
+			fUndoManager.redo();
+			redoCount++;
+		}
+		assertEquals(4, redoCount);
+		assertEquals(50, document.getLength());
+
+		// the next change drops the redo history, so the undo history can be trimmed
+		document.replace(0, 0, "0123456789");
+		fUndoManager.commit();
+		assertEquals(40, undoManager.getMemoryUsage());
+	}
+
 	private void createUndoManager(final IDocument document) {
 		fUndoManager = new DocumentUndoManager(document);
 		fUndoManager.connect(this);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -46,6 +46,7 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		LinkTestSuite.class,
 		CopyOnWriteTextStoreTest.class,
 		TextUtilitiesTest.class,
+		RuleBasedScannerTest.class,
 		AnnotationModelStressTest.class,
 		AnnotationModelExtension2Test.class,
 		TemplatesTestSuite.class
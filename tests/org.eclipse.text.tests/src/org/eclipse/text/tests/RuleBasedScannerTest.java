@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.BufferedRuleBasedScanner;
+import org.eclipse.jface.text.rules.EndOfLineRule;
+import org.eclipse.jface.text.rules.IRule;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.ITokenScanner;
+import org.eclipse.jface.text.rules.IWordDetector;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.NumberRule;
+import org.eclipse.jface.text.rules.PatternRule;
+import org.eclipse.jface.text.rules.RuleBasedScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.rules.WhitespaceRule;
+import org.eclipse.jface.text.rules.WordPatternRule;
+import org.eclipse.jface.text.rules.WordRule;
+
+public class RuleBasedScannerTest {
+
+	private static final String JAVA_SAMPLE= """
+			/*
+			 * Copyright (c) 2026 and others.
+			 */
+			package org.example; // the package
+
+			@Deprecated
+			public class Sample<T> extends Object {
+				private static final String TEXT= "a \\"quoted\\" string";
+				private char c= 'x';
+				#define MAX 42
+
+				public int compute(int value) {
+					return value * 1234 + 0x1F - TEXT.length(); /* inline */
+				}
+			äöüß unicode identifiers and € signs
+			}
+			""";
+
+	private static final String XML_SAMPLE= """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<!-- a comment
+			     on two lines -->
+			<project name="sample" default="build">
+				<target name="build" depends="init">
+					<echo message="Building 42 &amp; more"/>
+					<![CDATA[ raw <data> ]]>
+				</target>
+			</project>
+			""";
+
+	/**
+	 * A scanner evaluating all rules at every position.
+	 */
+	private static class ReferenceScanner extends RuleBasedScanner {
+		@Override
+		public IToken nextToken() {
+			fTokenOffset= fOffset;
+			fColumn= UNDEFINED;
+			for (IRule rule : fRules) {
+				IToken token= rule.evaluate(this);
+				if (!token.isUndefined())
+					return token;
+			}
+			if (read() == EOF)
+				return Token.EOF;
+			return fDefaultReturnToken;
+		}
+	}
+
+	private static class JavaWordDetector implements IWordDetector {
+		@Override
+		public boolean isWordStart(char c) {
+			return Character.isJavaIdentifierStart(c);
+		}
+
+		@Override
+		public boolean isWordPart(char c) {
+			return Character.isJavaIdentifierPart(c);
+		}
+	}
+
+	private static IRule[] createJavaRules() {
+		WordRule keywords= new WordRule(new JavaWordDetector(), new Token("identifier"));
+		for (String keyword : new String[] { "package", "public", "class", "extends", "private", "static", "final", "int", "char", "return" })
+			keywords.addWord(keyword, new Token("keyword"));
+
+		PatternRule define= new SingleLineRule("#", " ", new Token("define"));
+		define.setColumnConstraint(1);
+
+		// a rule the scanner knows nothing about
+		IRule annotation= scanner -> {
+			if (scanner.read() == '@')
+				return new Token("annotation");
+			scanner.unread();
+			return Token.UNDEFINED;
+		};
+
+		return new IRule[] {
+				new MultiLineRule("/*", "*/", new Token("comment")),
+				new EndOfLineRule("//", new Token("lineComment")),
+				new SingleLineRule("\"", "\"", new Token("string"), '\\'),
+				new SingleLineRule("'", "'", new Token("character"), '\\'),
+				define,
+				annotation,
+				new NumberRule(new Token("number")),
+				new WhitespaceRule(Character::isWhitespace, new Token("whitespace")),
+				keywords
+		};
+	}
+
+	private static IRule[] createXmlRules() {
+		return new IRule[] {
+				new MultiLineRule("<!--", "-->", new Token("comment")),
+				new MultiLineRule("<![CDATA[", "]]>", new Token("cdata")),
+				new MultiLineRule("<?", "?>", new Token("processingInstruction")),
+				new SingleLineRule("\"", "\"", new Token("attributeValue")),
+				new WordPatternRule(new JavaWordDetector(), "&", ";", new Token("entity")),
+				new SingleLineRule("</", ">", new Token("endTag")),
+				new WhitespaceRule(Character::isWhitespace),
+				new WordRule(new JavaWordDetector(), new Token("name"))
+		};
+	}
+
+	private static List<String> scan(ITokenScanner scanner, IDocument document, int offset, int length) {
+		List<String> tokens= new ArrayList<>();
+		scanner.setRange(document, offset, length);
+		IToken token;
+		while (!(token= scanner.nextToken()).isEOF()) {
+			tokens.add(token.getData() + "@" + scanner.getTokenOffset() + ":" + scanner.getTokenLength());
+		}
+		return tokens;
+	}
+
+	private static void assertSameTokens(String text, IRule[] rules) {
+		IDocument document= new Document(text);
+		RuleBasedScanner reference= new ReferenceScanner();
+		reference.setRules(rules);
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(rules);
+		BufferedRuleBasedScanner bufferedScanner= new BufferedRuleBasedScanner(16);
+		bufferedScanner.setRules(rules);
+
+		for (int offset= 0; offset < text.length(); offset+= 7) {
+			int length= text.length() - offset;
+			List<String> expected= scan(reference, document, offset, length);
+			assertEquals("Tokens from offset " + offset, expected, scan(scanner, document, offset, length));
+			assertEquals("Buffered tokens from offset " + offset, expected, scan(bufferedScanner, document, offset, length));
+		}
+	}
+
+	@Test
+	public void testJavaTokens() {
+		assertSameTokens(JAVA_SAMPLE, createJavaRules());
+	}
+
+	@Test
+	public void testXmlTokens() {
+		assertSameTokens(XML_SAMPLE, createXmlRules());
+	}
+
+	@Test
+	public void testRulesAssignedBySubclass() {
+		IRule[] rules= createJavaRules();
+		RuleBasedScanner scanner= new RuleBasedScanner() {
+			@Override
+			public void setRange(IDocument document, int offset, int length) {
+				// subclasses may replace the rules at any time
+				fRules= fRules == rules ? new IRule[] { rules[6] } : rules;
+				super.setRange(document, offset, length);
+			}
+		};
+		scanner.setRules(rules);
+		IDocument document= new Document("12 ab");
+
+		assertEquals(List.of("number@0:2", "whitespace@2:1", "identifier@3:2"), scan(scanner, document, 0, 5));
+		assertEquals(List.of("number@0:2", "null@2:1", "null@3:1", "null@4:1"), scan(scanner, document, 0, 5));
+	}
+}
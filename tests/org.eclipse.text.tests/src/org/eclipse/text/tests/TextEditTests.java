@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -41,8 +41,16 @@ import org.eclipse.text.edits.TextEditCopier;
 import org.eclipse.text.edits.UndoEdit;
 
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
 
 public class TextEditTests {
 
@@ -1394,6 +1402,151 @@ public class TextEditTests {
 		assertBufferContent();
 	}
 
+	@Test
+	public void testAddChildrenUnsorted() throws Exception {
+		fRoot.addChild(new InsertEdit(5, "a"));
+		TextEdit[] edits= {
+				new ReplaceEdit(8, 2, "xy"),
+				new InsertEdit(5, "b"),
+				new DeleteEdit(0, 2),
+				new InsertEdit(5, "c"),
+				new ReplaceEdit(5, 1, "z"),
+				new InsertEdit(2, "d") };
+		fRoot.addChildren(edits);
+
+		TextEdit[] children= fRoot.getChildren();
+		Assert.assertEquals(7, children.length);
+		Assert.assertSame(edits[2], children[0]);
+		Assert.assertSame(edits[5], children[1]);
+		Assert.assertSame(fRoot, edits[1].getParent());
+		// insertions at the same offset keep the order in which they were added
+		Assert.assertEquals("a", ((InsertEdit) children[2]).getText());
+		Assert.assertEquals("b", ((InsertEdit) children[3]).getText());
+		Assert.assertEquals("c", ((InsertEdit) children[4]).getText());
+		Assert.assertSame(edits[4], children[5]);
+		Assert.assertSame(edits[0], children[6]);
+
+		fRoot.apply(fDocument);
+		Assert.assertEquals("d234abcz67xy", fDocument.get());
+	}
+
+	@Test
+	public void testAddChildrenOverlapping() throws Exception {
+		TextEdit[] edits= { new ReplaceEdit(6, 2, "67"), new ReplaceEdit(0, 2, "01"), new ReplaceEdit(1, 2, "12") };
+		boolean exception= false;
+		try {
+			fRoot.addChildren(edits);
+		} catch (MalformedTreeException e) {
+			exception= true;
+		}
+		assertTrue(exception);
+		// the edits preceding the overlapping one are added, as when adding them one by one
+		Assert.assertEquals(2, fRoot.getChildrenSize());
+		Assert.assertNull(edits[2].getParent());
+	}
+
+	@Test
+	public void testAddChildrenTwice() throws Exception {
+		InsertEdit edit= new InsertEdit(3, "x");
+		try {
+			fRoot.addChildren(new TextEdit[] { new InsertEdit(1, "y"), edit, edit });
+			fail();
+		} catch (RuntimeException e) {
+			// expected
+		}
+		Assert.assertSame(fRoot, edit.getParent());
+	}
+
+	@Test
+	public void testAddManyChildren() throws Exception {
+		int count= 100000;
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < count; i++)
+			content.append("a ");
+		IDocument document= new Document(content.toString());
+		TextEdit[] edits= new TextEdit[count];
+		for (int i= 0; i < count; i++)
+			edits[i]= new ReplaceEdit(2 * (count - 1 - i), 1, "b");
+
+		fRoot.addChildren(edits);
+		Assert.assertEquals(count, fRoot.getChildrenSize());
+		Assert.assertSame(edits[count - 1], fRoot.getChildren()[0]);
+		fRoot.apply(document, TextEdit.NONE);
+		Assert.assertEquals(content.toString().replace('a', 'b'), document.get());
+	}
+
+	@Test
+	public void testApplyAtOnce() throws Exception {
+		TextEdit e1= new ReplaceEdit(1, 2, "xyz");
+		TextEdit e2= new InsertEdit(5, "ab");
+		TextEdit e3= new DeleteEdit(7, 2);
+		fRoot.addChildren(new TextEdit[] { e1, e2, e3 });
+		List<DocumentEvent> events= recordEvents(fDocument);
+		UndoEdit undo= fRoot.apply(fDocument);
+		Assert.assertEquals(1, events.size());
+		Assert.assertEquals("0xyz34ab569", fDocument.get());
+		assertEquals(e1, 1, 3);
+		assertEquals(e2, 6, 2);
+		assertEquals(e3, 10, 0);
+		assertEquals(fRoot, 1, 9);
+		Assert.assertEquals(3, undo.getChildrenSize());
+		undo.apply(fDocument);
+		assertBufferContent();
+	}
+
+	@Test
+	public void testApplyAtOncePositionInRange() throws Exception {
+		Position position= new Position(4, 1);
+		fDocument.addPosition(position);
+		fRoot.addChildren(new TextEdit[] { new ReplaceEdit(1, 2, "xyz"), new DeleteEdit(7, 2) });
+		List<DocumentEvent> events= recordEvents(fDocument);
+		fRoot.apply(fDocument);
+		// positions are updated as if the edits were applied one by one
+		Assert.assertEquals(2, events.size());
+		Assert.assertEquals("0xyz34569", fDocument.get());
+		Assert.assertEquals(5, position.getOffset());
+		Assert.assertEquals(1, position.getLength());
+	}
+
+	@Test
+	public void testApplyAtOncePartitioned() throws Exception {
+		IDocument document= new Document("a 'b' c 'd' e");
+		FastPartitioner partitioner= new FastPartitioner(createStringScanner(), new String[] { "string" });
+		partitioner.connect(document);
+		document.setDocumentPartitioner(partitioner);
+		fRoot.addChildren(new TextEdit[] { new ReplaceEdit(0, 1, "'x'"), new DeleteEdit(8, 3) });
+		List<DocumentEvent> events= recordEvents(document);
+		fRoot.apply(document, TextEdit.NONE);
+		Assert.assertEquals(1, events.size());
+		Assert.assertEquals("'x' 'b' c  e", document.get());
+
+		IDocument expected= new Document(document.get());
+		FastPartitioner expectedPartitioner= new FastPartitioner(createStringScanner(), new String[] { "string" });
+		expectedPartitioner.connect(expected);
+		Assert.assertArrayEquals(expectedPartitioner.computePartitioning(0, expected.getLength()), partitioner.computePartitioning(0, document.getLength()));
+	}
+
+	private static RuleBasedPartitionScanner createStringScanner() {
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		scanner.setPredicateRules(new IPredicateRule[] { new SingleLineRule("'", "'", new Token("string")) });
+		return scanner;
+	}
+
+	private static List<DocumentEvent> recordEvents(IDocument document) {
+		List<DocumentEvent> events= new ArrayList<>();
+		document.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events.add(event);
+			}
+		});
+		return events;
+	}
+
 	private void assertEquals(TextEdit edit, int offset, int length) {
 		Assert.assertEquals("Offset", offset, edit.getOffset());
 		Assert.assertEquals("Length", length, edit.getLength());
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -130,6 +130,21 @@ public class HighlightTest extends AbstratGenericEditorTest {
 		checkHighlightForCaretOffset(editorText.indexOf("amet") + 1, complexWord, 2);
 	}
 
+	@Test
+	public void testHighlightAfterDocumentChange() throws Exception {
+		createAndOpenFile("foo.txt", EDITOR_TEXT);
+		checkHighlightForCaretOffset(0, "Lorem", 3);
+
+		IDocument document= editor.getDocumentProvider().getDocument(editor.getEditorInput());
+		document.replace(document.getLength(), 0, "\nLorem dolor\r\nLorem");
+		checkHighlightForCaretOffset(0, "Lorem", 5);
+		checkHighlightForCaretOffset(EDITOR_TEXT.indexOf("dolor") + 1, "dolor", 4);
+
+		document.replace(0, EDITOR_TEXT.indexOf('\n') + 1, "");
+		checkHighlightForCaretOffset(0, "Lorem", 4);
+		checkHighlightForCaretOffset(document.get().indexOf("ipsum") + 1, "ipsum", 2);
+	}
+
 	private void checkHighlightForCaretOffset(int pos, String expectedHighlight, int expectedHighlightCount) throws Exception {
 		clearAnnotations();
 
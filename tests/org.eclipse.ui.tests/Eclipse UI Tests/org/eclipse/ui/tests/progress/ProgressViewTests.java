@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2019 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -194,6 +194,49 @@ public class ProgressViewTests extends ProgressTestCase {
 		}
 	}
 
+	@Test
+	public void testManyShortJobs() throws Exception {
+		openProgressView();
+		Object family = new Object();
+		int jobCount = 2000;
+		for (int i = 0; i < jobCount; i++) {
+			Job job = new Job("Short job " + i) {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					monitor.beginTask(getName(), 100);
+					for (int j = 0; j < 100; j++) {
+						monitor.worked(1);
+					}
+					monitor.done();
+					return Status.OK_STATUS;
+				}
+
+				@Override
+				public boolean belongsTo(Object f) {
+					return f == family;
+				}
+			};
+			job.schedule();
+		}
+		Job.getJobManager().join(family, null);
+
+		// all additions, updates and removals must have been sent in order
+		processEventsUntil(() -> countJobs(family) == 0, TimeUnit.SECONDS.toMillis(5));
+		assertEquals("Finished jobs still shown in progress view", 0, countJobs(family));
+	}
+
+	private int countJobs(Object family) {
+		int count = 0;
+		for (ProgressInfoItem progressInfoItem : progressView.getViewer().getProgressInfoItems()) {
+			for (JobInfo jobInfo : progressInfoItem.getJobInfos()) {
+				if (jobInfo.getJob().belongsTo(family)) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
 	private int countJobs(Job job) {
 		int count = 0;
 		ProgressInfoItem[] progressInfoItems = progressView.getViewer().getProgressInfoItems();
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.quickaccess;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.ui.internal.quickaccess.QuickAccessEntry;
+import org.eclipse.ui.internal.quickaccess.QuickAccessMatcher;
+import org.eclipse.ui.internal.quickaccess.QuickAccessProvider;
+import org.eclipse.ui.quickaccess.QuickAccessElement;
+import org.junit.Test;
+
+public class QuickAccessMatcherTest {
+
+	private static final QuickAccessProvider PROVIDER = new QuickAccessProvider() {
+
+		@Override
+		public String getId() {
+			return "org.eclipse.ui.tests.quickaccess.matcherProvider";
+		}
+
+		@Override
+		public String getName() {
+			return "Xyz";
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public QuickAccessElement[] getElements() {
+			return new QuickAccessElement[0];
+		}
+
+		@Override
+		protected void doReset() {
+		}
+	};
+
+	private static QuickAccessElement element(String label) {
+		return new QuickAccessElement() {
+
+			@Override
+			public String getLabel() {
+				return label;
+			}
+
+			@Override
+			public ImageDescriptor getImageDescriptor() {
+				return null;
+			}
+
+			@Override
+			public String getId() {
+				return label;
+			}
+
+			@Override
+			public void execute() {
+			}
+		};
+	}
+
+	private static QuickAccessEntry match(String label, String filter) {
+		return new QuickAccessMatcher(element(label)).match(filter, PROVIDER);
+	}
+
+	@Test
+	public void testSubstringMatch() {
+		assertEquals(QuickAccessEntry.MATCH_PERFECT, match("Open Type", "open type").getMatchQuality());
+		assertEquals(QuickAccessEntry.MATCH_EXCELLENT, match("Open Type", "open").getMatchQuality());
+		assertEquals(QuickAccessEntry.MATCH_GOOD, match("Open Type", "type").getMatchQuality());
+	}
+
+	@Test
+	public void testWhitespaceMatch() {
+		assertEquals(QuickAccessEntry.MATCH_EXCELLENT, match("Open Type Hierarchy", "op hier").getMatchQuality());
+		assertEquals(QuickAccessEntry.MATCH_EXCELLENT, match("Open Type Hierarchy", "  op  hier ").getMatchQuality());
+		assertNull(match("Open Type Hierarchy", "hier op"));
+	}
+
+	@Test
+	public void testWildcardMatch() {
+		assertEquals(QuickAccessEntry.MATCH_EXCELLENT, match("Open Type Hierarchy", "o*hi").getMatchQuality());
+		assertEquals(QuickAccessEntry.MATCH_EXCELLENT, match("Open Type", "op?n").getMatchQuality());
+		assertNull(match("Open Type", "t*o"));
+	}
+
+	@Test
+	public void testRegexCharactersInFilter() {
+		// '.' keeps matching any character in the generated pattern
+		assertEquals(QuickAccessEntry.MATCH_EXCELLENT, match("Open Type", "o.en t").getMatchQuality());
+		assertNull(match("Open Type", "open +"));
+		assertNull(match("Open Type", "open ["));
+	}
+
+	@Test
+	public void testProviderAndCamelCaseMatch() {
+		assertEquals(QuickAccessEntry.MATCH_GOOD, match("Open Type", "xyz open").getMatchQuality());
+		assertEquals(QuickAccessEntry.MATCH_GOOD, match("Open Type Hierarchy", "oth").getMatchQuality());
+		assertNull(match("Open Type Hierarchy", "qqq"));
+	}
+
+	@Test
+	public void testManyElements() {
+		int count = 50_000;
+		QuickAccessElement[] elements = new QuickAccessElement[count];
+		for (int i = 0; i < count; i++) {
+			elements[i] = element((i % 2 == 0 ? "Show View " : "Open Preference ") + i);
+		}
+		String[] filters = { "s", "sh", "sh v", "sh vi 1", "show view 1", "op*pref", "zz" };
+		int[] expected = new int[filters.length];
+		int[] actual = new int[filters.length];
+		for (int f = 0; f < filters.length; f++) {
+			for (int i = 0; i < count; i++) {
+				String label = elements[i].getLabel().toLowerCase();
+				if (matchesTokens(label, filters[f])) {
+					expected[f]++;
+				}
+				if (new QuickAccessMatcher(elements[i]).match(filters[f], PROVIDER) != null) {
+					actual[f]++;
+				}
+			}
+			assertEquals(filters[f], expected[f], actual[f]);
+		}
+		assertNotNull(match("Show View 49998", "sh vi 49998"));
+	}
+
+	/**
+	 * Whether the tokens of the given filter, separated by whitespace or '*',
+	 * occur in the given label in order.
+	 */
+	private static boolean matchesTokens(String label, String filter) {
+		int index = 0;
+		for (String token : filter.trim().split("[\\s*]+")) {
+			index = label.indexOf(token, index);
+			if (index == -1) {
+				return false;
+			}
+			index += token.length();
+		}
+		return true;
+	}
+}
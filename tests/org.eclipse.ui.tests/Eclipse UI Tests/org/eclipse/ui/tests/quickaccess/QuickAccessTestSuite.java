@@ -18,6 +18,6 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ CamelUtilTest.class, QuickAccessDialogTest.class, ContentMatchesTest.class,
-		QuickAccessProvidersTest.class })
+		QuickAccessProvidersTest.class, QuickAccessMatcherTest.class })
 public class QuickAccessTestSuite {
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2018 Etienne Reichenbach and others.
+* Copyright (c) 2018, 2026 Etienne Reichenbach and others.
 *
 * This program and the accompanying materials
 * are made available under the terms of the Eclipse Public License 2.0
@@ -14,15 +14,27 @@
 package org.eclipse.ui.workbench.texteditor.tests;
 
 import static org.eclipse.jface.text.DocumentRewriteSessionType.SEQUENTIAL;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Test;
 
+import org.eclipse.compare.rangedifferencer.IRangeComparator;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 
 import org.eclipse.ui.internal.texteditor.quickdiff.DocumentLineDiffer;
+import org.eclipse.ui.internal.texteditor.quickdiff.QuickDiffRangeDifference;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DJBHashFunction;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
 
 /**
  * Tests for the {@link DocumentLineDiffer}.
@@ -169,4 +181,91 @@ public class DocumentLineDifferTest {
 		assertFalse(fLineDiffer.isSuspended());
 	}
 
+	/**
+	 * Test that a change on the first line is diffed like without trimming the common suffix.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void trimmedDiffOfChangeAtStart() throws Exception {
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\nd\n", "x\nb\nc\nd\n");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\nd\n", "x\ny\na\nb\nc\nd\n");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\nd\n", "c\nd\n");
+	}
+
+	/**
+	 * Test that a change on the last line is diffed like without trimming the common prefix.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void trimmedDiffOfChangeAtEnd() throws Exception {
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\nd", "a\nb\nc\nx");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\nd", "a\nb\nc\nd\nx\ny");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\nd", "a\nb");
+	}
+
+	/**
+	 * Test that changes between a common prefix and suffix are diffed like without trimming.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void trimmedDiffOfChangeInMiddle() throws Exception {
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\nd\ne\n", "a\nb\nx\nd\ne\n");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\nd\ne\n", "a\nb\nx\ny\nc\nd\ne\n");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\nd\ne\n", "a\ne\n");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\nd\ne\nf\ng\n", "a\nx\nc\nd\ny\nf\ng\n");
+	}
+
+	/**
+	 * Test that a change of the whole document, which has no common prefix or suffix, is diffed
+	 * like without trimming.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void trimmedDiffOfChangeOfWholeDocument() throws Exception {
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\n", "x\ny\nz");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\n", "");
+		assertTrimmedDiffLikeUntrimmed("", "a\nb\nc\n");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\n", "a\nb\nc\n");
+	}
+
+	/**
+	 * Test that edits of line delimiters only are diffed like without trimming.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void trimmedDiffOfLineDelimiterChanges() throws Exception {
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\n", "a\r\nb\r\nc\r\n");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc", "a\nb\nc\n");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\n", "a\nb\nc");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\n", "a\nb\n\nc\n");
+		assertTrimmedDiffLikeUntrimmed("a\nb\nc\n", "a\nbc\n");
+	}
+
+	private static void assertTrimmedDiffLikeUntrimmed(String reference, String actual) {
+		DocumentEquivalenceClass left= new DocumentEquivalenceClass(new Document(reference), new DJBHashFunction());
+		DocumentEquivalenceClass right= new DocumentEquivalenceClass(new Document(actual), new DJBHashFunction());
+		IRangeComparator leftComparator= new DocEquivalenceComparator(left, null);
+		IRangeComparator rightComparator= new DocEquivalenceComparator(right, null);
+
+		RangeDifference[] untrimmed= RangeDifferencer.findRanges(leftComparator, rightComparator);
+		List<QuickDiffRangeDifference> trimmed= DocumentLineDiffer.findRangesTrimmed(null, left, right, leftComparator, rightComparator);
+
+		assertEquals(toString(Arrays.asList(untrimmed)), toString(trimmed));
+	}
+
+	private static String toString(List<? extends RangeDifference> differences) {
+		StringBuilder buffer= new StringBuilder();
+		for (RangeDifference d : differences) {
+			buffer.append(d.kind()).append(' ');
+			buffer.append(d.leftStart()).append('+').append(d.leftLength()).append(' ');
+			buffer.append(d.rightStart()).append('+').append(d.rightLength()).append('\n');
+		}
+		return buffer.toString();
+	}
+
 }